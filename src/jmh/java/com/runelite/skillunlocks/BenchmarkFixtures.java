@@ -0,0 +1,80 @@
+package com.runelite.skillunlocks;
+
+import com.runelite.skillunlocks.domain.model.SkillData;
+import com.runelite.skillunlocks.service.parser.WikiTextParser;
+import net.runelite.api.Skill;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads the captured Level_up_table pages shared by the benchmarks.
+ */
+public final class BenchmarkFixtures
+{
+	/**
+	 * Skills with a captured page under /fixtures
+	 */
+	public static final Skill[] FIXTURE_SKILLS = {Skill.ATTACK, Skill.STRENGTH};
+	
+	private BenchmarkFixtures() {}
+	
+	/**
+	 * @return The raw wikitext of the skill's Level_up_table page
+	 */
+	public static String loadWikiText(Skill skill) throws IOException
+	{
+		String resource = "/fixtures/" + skill.getName().replace(' ', '_') + "/Level_up_table.wiki";
+		try (InputStream in = BenchmarkFixtures.class.getResourceAsStream(resource))
+		{
+			if (in == null)
+			{
+				throw new IOException("Missing fixture " + resource);
+			}
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+	
+	/**
+	 * Wikitext for every wiki skill, reusing the captured pages round-robin
+	 * so the dataset is as large as a real cache.
+	 */
+	@SuppressWarnings("deprecation")
+	public static Map<Skill, String> loadAllWikiTexts() throws IOException
+	{
+		List<String> pages = new ArrayList<>();
+		for (Skill skill : FIXTURE_SKILLS)
+		{
+			pages.add(loadWikiText(skill));
+		}
+		
+		Map<Skill, String> wikiTexts = new EnumMap<>(Skill.class);
+		for (Skill skill : Skill.values())
+		{
+			if (skill != Skill.OVERALL)
+			{
+				wikiTexts.put(skill, pages.get(skill.ordinal() % pages.size()));
+			}
+		}
+		return wikiTexts;
+	}
+	
+	/**
+	 * Parsed data for every wiki skill, see {@link #loadAllWikiTexts()}.
+	 */
+	public static Map<Skill, SkillData> loadAllSkillData() throws IOException
+	{
+		WikiTextParser parser = new WikiTextParser();
+		Map<Skill, SkillData> skillData = new EnumMap<>(Skill.class);
+		for (Map.Entry<Skill, String> entry : loadAllWikiTexts().entrySet())
+		{
+			skillData.put(entry.getKey(), parser.parseSkillPage(entry.getKey(), entry.getValue()));
+		}
+		return skillData;
+	}
+}
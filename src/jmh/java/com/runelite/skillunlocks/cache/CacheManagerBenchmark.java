@@ -0,0 +1,65 @@
+package com.runelite.skillunlocks.cache;
+
+import com.google.gson.Gson;
+import com.runelite.skillunlocks.BenchmarkFixtures;
+import com.runelite.skillunlocks.cache.model.CacheData;
+import com.runelite.skillunlocks.domain.model.PageRevision;
+import net.runelite.api.Skill;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of a full cache file with the same Gson setup CacheManager writes it with.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheManagerBenchmark
+{
+	private Gson gson;
+	private CacheData cacheData;
+	private String json;
+	
+	@Setup
+	public void setUp() throws IOException
+	{
+		gson = CacheManager.createGson(true);
+		
+		Map<Skill, PageRevision> revisions = new EnumMap<>(Skill.class);
+		cacheData = new CacheData();
+		cacheData.setLastUpdated(Instant.parse("2024-01-01T00:00:00Z"));
+		cacheData.setSkillData(BenchmarkFixtures.loadAllSkillData());
+		cacheData.setRevisions(revisions);
+		
+		json = gson.toJson(cacheData);
+	}
+	
+	@Benchmark
+	public String serialize()
+	{
+		return gson.toJson(cacheData);
+	}
+	
+	@Benchmark
+	public CacheData deserialize()
+	{
+		return gson.fromJson(json, CacheData.class);
+	}
+}
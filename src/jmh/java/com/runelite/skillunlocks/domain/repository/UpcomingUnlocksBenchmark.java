@@ -0,0 +1,104 @@
+package com.runelite.skillunlocks.domain.repository;
+
+import com.runelite.skillunlocks.BenchmarkFixtures;
+import com.runelite.skillunlocks.domain.model.SkillData;
+import com.runelite.skillunlocks.domain.model.SkillUnlock;
+import com.runelite.skillunlocks.domain.model.UpcomingUnlock;
+import net.runelite.api.Experience;
+import net.runelite.api.Skill;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The next unlocks across every skill, merged by the query engine against
+ * filtering each skill's unlocks and sorting the lot.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UpcomingUnlocksBenchmark
+{
+	private static final int LIMIT = 10;
+	private static final int LEVELS_AHEAD = 5;
+	
+	private Map<Skill, SkillData> allSkillData;
+	private UpcomingUnlocks upcomingUnlocks;
+	private int[] levels;
+	private int tick;
+	
+	@Setup
+	public void setUp() throws IOException
+	{
+		allSkillData = BenchmarkFixtures.loadAllSkillData();
+		upcomingUnlocks = new UpcomingUnlocks();
+		levels = new int[Skill.values().length];
+		for (Map.Entry<Skill, SkillData> entry : allSkillData.entrySet())
+		{
+			// Spread the skills over the levels so the merge has to interleave them
+			int level = 20 + entry.getKey().ordinal() * 3;
+			levels[entry.getKey().ordinal()] = level;
+			upcomingUnlocks.setSkillData(entry.getKey(), entry.getValue());
+			upcomingUnlocks.updateSkill(entry.getKey(), level, Experience.getXpForLevel(level));
+		}
+	}
+	
+	@Benchmark
+	public List<UpcomingUnlock> mergeUpcoming()
+	{
+		return upcomingUnlocks.getUpcoming(LIMIT, LEVELS_AHEAD);
+	}
+	
+	@Benchmark
+	public List<UpcomingUnlock> filterAndSortEverySkill()
+	{
+		List<UpcomingUnlock> upcoming = new ArrayList<>();
+		for (Map.Entry<Skill, SkillData> entry : allSkillData.entrySet())
+		{
+			int level = levels[entry.getKey().ordinal()];
+			int xp = Experience.getXpForLevel(level);
+			for (SkillUnlock unlock : entry.getValue().getAllUnlocks())
+			{
+				if (unlock.getLevel() > level && unlock.getLevel() <= level + LEVELS_AHEAD)
+				{
+					upcoming.add(UpcomingUnlock.builder()
+						.skill(entry.getKey())
+						.unlock(unlock)
+						.xpRemaining(Experience.getXpForLevel(unlock.getLevel()) - xp)
+						.build());
+				}
+			}
+		}
+		upcoming.sort(Comparator.comparingInt(UpcomingUnlock::getXpRemaining));
+		return upcoming.subList(0, Math.min(LIMIT, upcoming.size()));
+	}
+	
+	/**
+	 * One skill gaining a level, followed by a query
+	 */
+	@Benchmark
+	public List<UpcomingUnlock> levelUpThenMerge()
+	{
+		Skill skill = Skill.ATTACK;
+		int level = 20 + (tick++ & 31);
+		upcomingUnlocks.updateSkill(skill, level, Experience.getXpForLevel(level));
+		return upcomingUnlocks.getUpcoming(LIMIT, LEVELS_AHEAD);
+	}
+}
@@ -0,0 +1,53 @@
+package com.runelite.skillunlocks.service.parser;
+
+import com.runelite.skillunlocks.domain.model.SkillData;
+import net.runelite.api.Skill;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of malformed and oversized pages. Time per operation should grow in
+ * proportion to the size; a tenfold size costing far more than ten times as
+ * long points at a super-linear path.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class PathologicalInputBenchmark
+{
+	@Param
+	private PathologicalWikiText.Kind kind;
+	
+	@Param({"100000", "1000000"})
+	private int size;
+	
+	private String wikiText;
+	private WikiTextParser parser;
+	
+	@Setup
+	public void setUp()
+	{
+		wikiText = PathologicalWikiText.generate(kind, size);
+		parser = new WikiTextParser();
+	}
+	
+	@Benchmark
+	public SkillData parseSkillPage()
+	{
+		return parser.parseSkillPage(Skill.ATTACK, wikiText);
+	}
+}
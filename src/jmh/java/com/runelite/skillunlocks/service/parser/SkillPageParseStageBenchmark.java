@@ -0,0 +1,58 @@
+package com.runelite.skillunlocks.service.parser;
+
+import com.runelite.skillunlocks.BenchmarkFixtures;
+import com.runelite.skillunlocks.domain.model.SkillData;
+import net.runelite.api.Skill;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full reparse of every skill page, to compare how the parse stage scales with its worker count.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SkillPageParseStageBenchmark
+{
+	@Param({"1", "2", "4"})
+	private int parallelism;
+	
+	private Map<Skill, String> wikiTexts;
+	private SkillPageParseStage parseStage;
+	
+	@Setup
+	public void setUp() throws IOException
+	{
+		wikiTexts = BenchmarkFixtures.loadAllWikiTexts();
+		parseStage = new SkillPageParseStage(new WikiTextParser(), parallelism);
+	}
+	
+	@TearDown
+	public void tearDown()
+	{
+		parseStage.shutdown();
+	}
+	
+	@Benchmark
+	public Map<Skill, SkillData> parseAll()
+	{
+		return parseStage.parseAll(wikiTexts);
+	}
+}
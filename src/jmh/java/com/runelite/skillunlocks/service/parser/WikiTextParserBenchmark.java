@@ -0,0 +1,104 @@
+package com.runelite.skillunlocks.service.parser;
+
+import com.runelite.skillunlocks.BenchmarkFixtures;
+import com.runelite.skillunlocks.domain.model.SkillData;
+import net.runelite.api.Skill;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of a whole Level_up_table page, reparsing it after one level was
+ * edited, and cleaning of its unlock lines on their own.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WikiTextParserBenchmark
+{
+	@Param({"ATTACK", "STRENGTH"})
+	private Skill skill;
+	
+	private String wikiText;
+	private WikiTextParser parser;
+	// The page with the last unlock line of the table changed, and the data parsed before the edit
+	private String editedWikiText;
+	private SkillData previous;
+	private WikiTextCleaner cleaner;
+	// Offsets of the text after the '*' of every unlock line
+	private int[] lineStarts;
+	private int[] lineEnds;
+	
+	@Setup
+	public void setUp() throws IOException
+	{
+		wikiText = BenchmarkFixtures.loadWikiText(skill);
+		parser = new WikiTextParser();
+		cleaner = new WikiTextCleaner();
+		previous = parser.parseSkillPage(skill, wikiText);
+		int lastLine = wikiText.lastIndexOf("\n*");
+		editedWikiText = wikiText.substring(0, lastLine + 2) + " Edited" + wikiText.substring(lastLine + 2);
+		
+		List<int[]> lines = new ArrayList<>();
+		int lineStart = 0;
+		while (lineStart < wikiText.length())
+		{
+			int lineEnd = wikiText.indexOf('\n', lineStart);
+			if (lineEnd < 0)
+			{
+				lineEnd = wikiText.length();
+			}
+			if (wikiText.startsWith("*", lineStart))
+			{
+				lines.add(new int[]{lineStart + 1, lineEnd});
+			}
+			lineStart = lineEnd + 1;
+		}
+		
+		lineStarts = new int[lines.size()];
+		lineEnds = new int[lines.size()];
+		for (int i = 0; i < lines.size(); i++)
+		{
+			lineStarts[i] = lines.get(i)[0];
+			lineEnds[i] = lines.get(i)[1];
+		}
+	}
+	
+	@Benchmark
+	public SkillData parseSkillPage()
+	{
+		return parser.parseSkillPage(skill, wikiText);
+	}
+	
+	@Benchmark
+	public SkillData reparseEditedPage()
+	{
+		return parser.parseSkillPage(skill, editedWikiText, previous);
+	}
+	
+	@Benchmark
+	public void cleanUnlockLines(Blackhole blackhole)
+	{
+		for (int i = 0; i < lineStarts.length; i++)
+		{
+			blackhole.consume(cleaner.clean(wikiText, lineStarts[i], lineEnds[i]));
+		}
+	}
+}
@@ -0,0 +1,201 @@
+package com.runelite.skillunlocks.util;
+
+import com.runelite.skillunlocks.BenchmarkFixtures;
+import com.runelite.skillunlocks.domain.model.SkillData;
+import com.runelite.skillunlocks.domain.model.SkillUnlock;
+import com.runelite.skillunlocks.service.search.UnlockSearchIndex;
+import com.runelite.skillunlocks.ui.components.controls.PillFilterBar;
+import net.runelite.api.Skill;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Filtering and grouping of every cached unlock, as done when the panel re-renders.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnlockFilterBenchmark
+{
+	private static final int PLAYER_LEVEL = 40;
+	// The milestones UnlockFilterUtil groups by
+	private static final int[] MILESTONES = {1, 10, 25, 50, 75, 99};
+	
+	private List<SkillUnlock> unlocks;
+	// One skill, grouped the way the panel does when a skill is shown
+	private SkillData skillData;
+	private Map<Skill, SkillData> allSkillData;
+	private UnlockSearchIndex searchIndex;
+	// The same Attack unlocks as a new instance, as a refetch of the skill would produce
+	private Map<Skill, SkillData> refetchedSkillData;
+	
+	/**
+	 * Search and filter combinations, only the filter benchmark depends on them
+	 */
+	@State(Scope.Thread)
+	public static class FilterParams
+	{
+		@Param({"", "rune"})
+		private String searchText;
+		
+		@Param({"ALL", "NEXT_5", "ITEMS"})
+		private PillFilterBar.FilterType filterType;
+	}
+	
+	@Setup
+	public void setUp() throws IOException
+	{
+		unlocks = new ArrayList<>();
+		allSkillData = BenchmarkFixtures.loadAllSkillData();
+		for (SkillData data : allSkillData.values())
+		{
+			unlocks.addAll(data.getAllUnlocks());
+		}
+		skillData = allSkillData.get(Skill.ATTACK);
+		searchIndex = UnlockSearchIndex.build(allSkillData);
+		refetchedSkillData = Collections.singletonMap(Skill.ATTACK,
+			SkillData.builder().skill(Skill.ATTACK).unlocks(skillData.getAllUnlocks()).build());
+	}
+	
+	/**
+	 * Matching the search text against each unlock's text, as done before the index
+	 */
+	@Benchmark
+	public int scanUnlockText(FilterParams params)
+	{
+		int shown = 0;
+		for (SkillUnlock unlock : unlocks)
+		{
+			String combined = (unlock.getName() + " " + unlock.getDescription() + " " + unlock.getRequirements()).toLowerCase();
+			if ((params.searchText.isEmpty() || combined.contains(params.searchText))
+				&& UnlockFilterUtil.matchesFilterType(unlock, params.filterType, PLAYER_LEVEL))
+			{
+				shown++;
+			}
+		}
+		return shown;
+	}
+	
+	@Benchmark
+	public int searchIndex(FilterParams params)
+	{
+		BitSet matches = params.searchText.isEmpty() ? null : searchIndex.search(params.searchText);
+		int shown = 0;
+		for (int id = 0; id < searchIndex.size(); id++)
+		{
+			if ((matches == null || matches.get(id))
+				&& UnlockFilterUtil.matchesFilterType(searchIndex.getUnlock(id), params.filterType, PLAYER_LEVEL))
+			{
+				shown++;
+			}
+		}
+		return shown;
+	}
+	
+	/**
+	 * A misspelled search of every skill in turn, ranked against the player's level
+	 */
+	@Benchmark
+	public int searchRanked()
+	{
+		int found = 0;
+		for (SkillData data : allSkillData.values())
+		{
+			found += searchIndex.searchRanked(data, "adamnat scimtar", PLAYER_LEVEL).length;
+		}
+		return found;
+	}
+	
+	/**
+	 * Indexing every skill, as done when the repository first loads its data
+	 */
+	@Benchmark
+	public UnlockSearchIndex buildSearchIndex()
+	{
+		return UnlockSearchIndex.build(allSkillData);
+	}
+	
+	/**
+	 * Merging one refetched skill into the index of every skill
+	 */
+	@Benchmark
+	public UnlockSearchIndex mergeOneSkill()
+	{
+		return searchIndex.withSkillData(refetchedSkillData);
+	}
+	
+	/**
+	 * A keystroke of a search over every skill, without the type filter
+	 */
+	@Benchmark
+	public BitSet searchIndexOnly(FilterParams params)
+	{
+		return searchIndex.search(params.searchText);
+	}
+	
+	@Benchmark
+	public Map<String, List<SkillUnlock>> groupUnlocksByLevelRange()
+	{
+		return sortAndGroup(unlocks);
+	}
+	
+	@Benchmark
+	public Map<String, List<SkillUnlock>> groupSkillUnlockList()
+	{
+		return sortAndGroup(skillData.getAllUnlocks());
+	}
+	
+	@Benchmark
+	public Map<String, List<SkillUnlock>> groupSkillData()
+	{
+		return UnlockFilterUtil.groupUnlocksByLevelRange(skillData);
+	}
+	
+	/**
+	 * Grouping as done before the skill's sorted unlocks were viewed by range:
+	 * a sorted copy of the list, filtered once per range
+	 */
+	private static Map<String, List<SkillUnlock>> sortAndGroup(List<SkillUnlock> unlocks)
+	{
+		List<SkillUnlock> sorted = new ArrayList<>(unlocks);
+		sorted.sort(Comparator.comparingInt(SkillUnlock::getLevel));
+		
+		Map<String, List<SkillUnlock>> grouped = new LinkedHashMap<>();
+		for (int i = 0; i < MILESTONES.length; i++)
+		{
+			int start = MILESTONES[i];
+			int end = (i < MILESTONES.length - 1) ? MILESTONES[i + 1] - 1 : 99;
+			List<SkillUnlock> rangeUnlocks = sorted.stream()
+				.filter(u -> u.getLevel() >= start && u.getLevel() <= end)
+				.collect(Collectors.toList());
+			if (!rangeUnlocks.isEmpty())
+			{
+				grouped.put(start == 1 ? "Levels 1-9" : "Levels " + start + "-" + end, rangeUnlocks);
+			}
+		}
+		return grouped;
+	}
+}
@@ -5,9 +5,11 @@ import com.runelite.skillunlocks.api.WikiHttpClient;
 import com.runelite.skillunlocks.cache.CacheManager;
 import com.runelite.skillunlocks.api.WikiApiClient;
 import com.runelite.skillunlocks.domain.repository.UnlockRepository;
+import com.runelite.skillunlocks.service.parser.UnlockTypeClassifier;
 import com.runelite.skillunlocks.service.parser.WikiTextParser;
 import com.runelite.skillunlocks.ui.SkillUnlocksPanel;
 import com.runelite.skillunlocks.util.IconGenerator;
+import com.runelite.skillunlocks.util.StringPool;
 import javax.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
@@ -64,11 +66,14 @@ public class SkillUnlocksPlugin extends Plugin
 		log.info("Skill Unlocks plugin started!");
 		
 		// Initialize services
-		WikiHttpClient wikiHttpClient = new WikiHttpClient(httpClient);
-		WikiTextParser wikiTextParser = new WikiTextParser();
+		// Parsed and cached data share one pool, so a value is held once however it was loaded
+		StringPool stringPool = new StringPool();
+		CacheManager cacheManager = new CacheManager(stringPool);
+		WikiHttpClient wikiHttpClient = new WikiHttpClient(httpClient, cacheManager.getCacheDirectory());
+		UnlockTypeClassifier unlockTypeClassifier = UnlockTypeClassifier.loadDefault();
+		WikiTextParser wikiTextParser = new WikiTextParser(unlockTypeClassifier, stringPool);
 		WikiApiClient wikiApiClient = new WikiApiClient(wikiHttpClient, wikiTextParser);
-		CacheManager cacheManager = new CacheManager();
-		repository = new UnlockRepository(wikiApiClient, cacheManager);
+		repository = new UnlockRepository(wikiApiClient, cacheManager, unlockTypeClassifier, stringPool);
 		
 		// Create panel
 		panel = new SkillUnlocksPanel(client, config, repository, skillIconManager);
@@ -133,6 +138,12 @@ public class SkillUnlocksPlugin extends Plugin
 	@SuppressWarnings("unused")
 	public void onStatChanged(StatChanged statChanged)
 	{
+		if (repository != null)
+		{
+			// Only the changed skill moves, the other skills keep their place in the query
+			repository.getUpcomingUnlocks().updateSkill(statChanged.getSkill(), statChanged.getLevel(), statChanged.getXp());
+		}
+		
 		if (panel != null)
 		{
 			// Update on Swing thread to ensure thread safety
@@ -0,0 +1,97 @@
+package com.runelite.skillunlocks.api;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Circuit breaker guarding wiki requests.
+ * After a run of consecutive failures the circuit opens and requests fail fast
+ * instead of each waiting out its own timeout. While open, the owner probes the
+ * wiki in the background and closes the circuit once a probe succeeds. The
+ * cooldown between probes doubles after every failed probe, up to a maximum.
+ */
+@Slf4j
+public class CircuitBreaker
+{
+	private final int failureThreshold;
+	private final long initialCooldownMs;
+	private final long maxCooldownMs;
+	
+	private int consecutiveFailures;
+	private boolean open;
+	private long cooldownMs;
+	
+	/**
+	 * @param failureThreshold Consecutive failures that open the circuit
+	 * @param initialCooldownMs Delay before the first background probe
+	 * @param maxCooldownMs Upper bound on the delay between probes
+	 */
+	public CircuitBreaker(int failureThreshold, long initialCooldownMs, long maxCooldownMs)
+	{
+		this.failureThreshold = failureThreshold;
+		this.initialCooldownMs = initialCooldownMs;
+		this.maxCooldownMs = maxCooldownMs;
+		this.cooldownMs = initialCooldownMs;
+	}
+	
+	/**
+	 * @return true if requests may be sent, false if they should fail fast
+	 */
+	public synchronized boolean allowRequest()
+	{
+		return !open;
+	}
+	
+	public synchronized void recordSuccess()
+	{
+		if (open)
+		{
+			log.info("Wiki circuit closed, requests resumed");
+		}
+		consecutiveFailures = 0;
+		open = false;
+		cooldownMs = initialCooldownMs;
+	}
+	
+	/**
+	 * Records a failed request.
+	 *
+	 * @return true if this failure opened the circuit, so the caller should start probing
+	 */
+	public synchronized boolean recordFailure()
+	{
+		consecutiveFailures++;
+		if (!open && consecutiveFailures >= failureThreshold)
+		{
+			open = true;
+			log.warn("Wiki circuit opened after {} consecutive failures, probing again in {}ms",
+				consecutiveFailures, cooldownMs);
+			return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Records a failed background probe and backs off the next one.
+	 *
+	 * @return The delay before the next probe
+	 */
+	public synchronized long recordProbeFailure()
+	{
+		cooldownMs = Math.min(cooldownMs * 2, maxCooldownMs);
+		log.debug("Wiki probe failed, probing again in {}ms", cooldownMs);
+		return cooldownMs;
+	}
+	
+	public synchronized boolean isOpen()
+	{
+		return open;
+	}
+	
+	/**
+	 * @return The delay before the next background probe
+	 */
+	public synchronized long getCooldownMs()
+	{
+		return cooldownMs;
+	}
+}
@@ -0,0 +1,158 @@
+package com.runelite.skillunlocks.api;
+
+import com.google.gson.stream.JsonWriter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.CRC32;
+
+/**
+ * Wiki source backed by a directory of captured wikitext files.
+ * A page title maps to {@code <directory>/<title>.wiki} with spaces written as
+ * underscores, e.g. {@code Attack/Level_up_table.wiki}. Responses are rendered in
+ * the same JSON layout as the live API. The revision ID is a checksum of the file
+ * content, so a fixture only looks changed when its text changes.
+ */
+@Slf4j
+public class FixtureWikiSource implements WikiSource
+{
+	private static final String FIXTURE_EXTENSION = ".wiki";
+	
+	private final Path directory;
+	private final HttpCacheStats cacheStats = new HttpCacheStats();
+	
+	public FixtureWikiSource(Path directory)
+	{
+		this.directory = directory;
+	}
+	
+	@Override
+	public <T> CompletableFuture<T> fetchWikiPageAsync(String pageName, ResponseBodyReader<T> bodyReader)
+	{
+		return respond(Collections.singletonList(pageName), true, bodyReader);
+	}
+	
+	@Override
+	public <T> CompletableFuture<T> fetchWikiPagesAsync(List<String> pageNames, ResponseBodyReader<T> bodyReader)
+	{
+		return respond(pageNames, true, bodyReader);
+	}
+	
+	@Override
+	public <T> CompletableFuture<T> fetchRevisionInfoAsync(List<String> pageNames, ResponseBodyReader<T> bodyReader)
+	{
+		return respond(pageNames, false, bodyReader);
+	}
+	
+	@Override
+	public HttpCacheStats getCacheStats()
+	{
+		return cacheStats;
+	}
+	
+	@Override
+	public void shutdown()
+	{
+		// Nothing to release
+	}
+	
+	private <T> CompletableFuture<T> respond(List<String> pageNames, boolean includeContent, ResponseBodyReader<T> bodyReader)
+	{
+		try
+		{
+			String json = renderQueryResponse(pageNames, includeContent);
+			return CompletableFuture.completedFuture(bodyReader.read(new StringReader(json)));
+		}
+		catch (IOException | RuntimeException e)
+		{
+			return CompletableFuture.failedFuture(e instanceof IOException ? e
+				: new IOException("Failed to read fixture response", e));
+		}
+	}
+	
+	/**
+	 * Renders a query.pages response for the given titles from the fixture files.
+	 *
+	 * @param pageNames The page titles to include
+	 * @param includeContent Whether to include the main slot content or only revision metadata
+	 * @return The response JSON
+	 * @throws IOException if a fixture file cannot be read
+	 */
+	public String renderQueryResponse(List<String> pageNames, boolean includeContent) throws IOException
+	{
+		StringWriter out = new StringWriter();
+		try (JsonWriter writer = new JsonWriter(out))
+		{
+			writer.beginObject();
+			writer.name("batchcomplete").value("");
+			writer.name("query").beginObject();
+			writer.name("pages").beginObject();
+			
+			int missingId = -1;
+			for (String pageName : pageNames)
+			{
+				Path file = resolve(pageName);
+				String title = pageName.replace('_', ' ');
+				
+				if (!Files.isRegularFile(file))
+				{
+					log.debug("No fixture for {} at {}", pageName, file);
+					writer.name(String.valueOf(missingId--)).beginObject();
+					writer.name("ns").value(0);
+					writer.name("title").value(title);
+					writer.name("missing").value("");
+					writer.endObject();
+					continue;
+				}
+				
+				String wikiText = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+				long revisionId = checksum(wikiText);
+				
+				writer.name(String.valueOf(revisionId)).beginObject();
+				writer.name("pageid").value(revisionId);
+				writer.name("ns").value(0);
+				writer.name("title").value(title);
+				writer.name("revisions").beginArray().beginObject();
+				writer.name("revid").value(revisionId);
+				writer.name("timestamp").value(Files.getLastModifiedTime(file).toInstant().toString());
+				if (includeContent)
+				{
+					writer.name("slots").beginObject();
+					writer.name("main").beginObject();
+					writer.name("contentmodel").value("wikitext");
+					writer.name("contentformat").value("text/x-wiki");
+					writer.name("*").value(wikiText);
+					writer.endObject();
+					writer.endObject();
+				}
+				writer.endObject().endArray();
+				writer.endObject();
+			}
+			
+			writer.endObject();
+			writer.endObject();
+			writer.endObject();
+		}
+		return out.toString();
+	}
+	
+	private Path resolve(String pageName)
+	{
+		return directory.resolve(pageName.replace(' ', '_') + FIXTURE_EXTENSION);
+	}
+	
+	private static long checksum(String wikiText)
+	{
+		CRC32 crc = new CRC32();
+		crc.update(wikiText.getBytes(StandardCharsets.UTF_8));
+		return crc.getValue();
+	}
+}
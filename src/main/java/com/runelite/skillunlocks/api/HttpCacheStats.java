@@ -0,0 +1,60 @@
+package com.runelite.skillunlocks.api;
+
+import okhttp3.Response;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters describing how wiki API responses were served by the HTTP cache.
+ * A revalidation is a conditional request answered with 304 Not Modified,
+ * so only headers crossed the network.
+ */
+public class HttpCacheStats
+{
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong revalidations = new AtomicLong();
+	
+	/**
+	 * Classifies a response by whether it came from the cache, the network or both
+	 */
+	void record(Response response)
+	{
+		Response cacheResponse = response.cacheResponse();
+		Response networkResponse = response.networkResponse();
+		
+		if (cacheResponse != null && networkResponse == null)
+		{
+			hits.incrementAndGet();
+		}
+		else if (cacheResponse != null && networkResponse.code() == 304)
+		{
+			revalidations.incrementAndGet();
+		}
+		else
+		{
+			misses.incrementAndGet();
+		}
+	}
+	
+	public long getHits()
+	{
+		return hits.get();
+	}
+	
+	public long getMisses()
+	{
+		return misses.get();
+	}
+	
+	public long getRevalidations()
+	{
+		return revalidations.get();
+	}
+	
+	@Override
+	public String toString()
+	{
+		return String.format("hits=%d, revalidations=%d, misses=%d", getHits(), getRevalidations(), getMisses());
+	}
+}
@@ -0,0 +1,111 @@
+package com.runelite.skillunlocks.api;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Non-blocking token bucket rate limiter.
+ * Permits are handed out as futures that complete once a token is available,
+ * so callers chain their work onto the permit instead of sleeping for it.
+ * Up to {@code burst} permits are available immediately, after which tokens
+ * refill at the sustained rate.
+ */
+@Slf4j
+public class TokenBucketRateLimiter
+{
+	private final int burst;
+	private final double permitsPerNano;
+	private final ScheduledExecutorService scheduler;
+	private final Set<CompletableFuture<Void>> pendingPermits = ConcurrentHashMap.newKeySet();
+	
+	// Tokens may go negative, which reserves future permits for waiting callers
+	private double tokens;
+	private long lastRefillNanos;
+	
+	/**
+	 * @param burst Maximum number of permits available without waiting
+	 * @param permitsPerSecond Sustained rate at which permits are replenished
+	 */
+	public TokenBucketRateLimiter(int burst, double permitsPerSecond)
+	{
+		if (burst < 1 || permitsPerSecond <= 0)
+		{
+			throw new IllegalArgumentException("Burst must be at least 1 and rate must be positive");
+		}
+	
+		this.burst = burst;
+		this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+		this.tokens = burst;
+		this.lastRefillNanos = System.nanoTime();
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "wiki-rate-limiter");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+	
+	/**
+	 * Reserves a permit.
+	 *
+	 * @return A future that completes when the permit may be used
+	 */
+	public CompletableFuture<Void> acquire()
+	{
+		long waitNanos = reserve();
+		if (waitNanos <= 0)
+		{
+			return CompletableFuture.completedFuture(null);
+		}
+	
+		log.debug("Rate limiting: permit scheduled in {}ms", TimeUnit.NANOSECONDS.toMillis(waitNanos));
+		CompletableFuture<Void> permit = new CompletableFuture<>();
+		pendingPermits.add(permit);
+		try
+		{
+			scheduler.schedule(() -> {
+				pendingPermits.remove(permit);
+				permit.complete(null);
+			}, waitNanos, TimeUnit.NANOSECONDS);
+		}
+		catch (RejectedExecutionException e)
+		{
+			pendingPermits.remove(permit);
+			permit.cancel(false);
+		}
+		return permit;
+	}
+	
+	/**
+	 * Takes one token and returns how long the caller must wait before using it.
+	 * Only the bookkeeping is synchronized, no caller ever waits on the monitor.
+	 */
+	private synchronized long reserve()
+	{
+		long now = System.nanoTime();
+		tokens = Math.min(burst, tokens + (now - lastRefillNanos) * permitsPerNano);
+		lastRefillNanos = now;
+	
+		tokens -= 1;
+		return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / permitsPerNano);
+	}
+	
+	/**
+	 * Stops scheduling permits and cancels any that are still pending.
+	 */
+	public void shutdown()
+	{
+		scheduler.shutdownNow();
+		for (CompletableFuture<Void> permit : pendingPermits)
+		{
+			permit.cancel(false);
+		}
+		pendingPermits.clear();
+	}
+}
@@ -1,14 +1,21 @@
 package com.runelite.skillunlocks.api;
 
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
+import com.runelite.skillunlocks.domain.model.PageRevision;
 import com.runelite.skillunlocks.domain.model.SkillData;
+import com.runelite.skillunlocks.service.parser.SkillPageParseStage;
 import com.runelite.skillunlocks.service.parser.WikiTextParser;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Skill;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Client for fetching skill data from the OSRS Wiki API
@@ -47,16 +54,33 @@ public class WikiApiClient
 		SKILL_PAGE_NAMES.put(Skill.FARMING, "Farming");
 	}
 	
-	private final WikiHttpClient wikiHttpClient;
+	private static final String LEVEL_UP_TABLE_SUFFIX = "/Level_up_table";
+	
+	private final WikiSource wikiSource;
 	private final WikiTextParser parser;
+	private final SkillPageParseStage parseStage;
 	
-	public WikiApiClient(WikiHttpClient wikiHttpClient, WikiTextParser parser)
+	public WikiApiClient(WikiSource wikiSource, WikiTextParser parser)
 	{
-		this.wikiHttpClient = wikiHttpClient;
+		this.wikiSource = wikiSource;
 		this.parser = parser;
+		this.parseStage = new SkillPageParseStage(parser);
 	}
 	
 	public SkillData fetchSkillData(Skill skill) throws IOException
+	{
+		return fetchSkillData(skill, null);
+	}
+	
+	/**
+	 * Fetches and parses the Level_up_table page of a single skill.
+	 * 
+	 * @param skill The skill to fetch
+	 * @param revisions Receives the revision of the fetched page unless its parse was cut short, may be null
+	 * @return Parsed skill data, empty if the page could not be fetched
+	 * @throws IOException if the request fails
+	 */
+	public SkillData fetchSkillData(Skill skill, Map<Skill, PageRevision> revisions) throws IOException
 	{
 		String pageName = SKILL_PAGE_NAMES.get(skill);
 		if (pageName == null)
@@ -65,66 +89,234 @@ public class WikiApiClient
 			return SkillData.builder().skill(skill).build();
 		}
 		
-		String wikiText = fetchWikiText(pageName);
-		if (wikiText == null || wikiText.isEmpty())
+		WikiResponseReader.Page page = fetchWikiPage(pageName);
+		if (!hasWikiText(page))
 		{
 			log.warn("No wiki text found for skill: {} (tried {}/Level up table)", skill, pageName);
 			return SkillData.builder().skill(skill).build();
 		}
 		
-		return parser.parseSkillPage(skill, wikiText);
+		SkillData data = parser.parseSkillPage(skill, page.wikiText);
+		recordRevision(revisions, data, page.revision);
+		return data;
 	}
 	
-	private String fetchWikiText(String pageName) throws IOException
+	/**
+	 * Fetches the Level_up_table page of a single skill without blocking the caller.
+	 * 
+	 * @param skill The skill to fetch
+	 * @param revisions Receives the revision of the fetched page unless its parse was cut short, may be null
+	 * @param parseExecutor Executor the page is parsed on once it arrives
+	 * @return A future with the parsed skill data, empty if the page could not be fetched
+	 */
+	public CompletableFuture<SkillData> fetchSkillDataAsync(Skill skill, Map<Skill, PageRevision> revisions, Executor parseExecutor)
 	{
-		// Always go directly to the Level_up_table subpage
-		String levelUpPageName = pageName + "/Level_up_table";
-		
-		String jsonResponse = wikiHttpClient.fetchWikiPage(levelUpPageName);
-		if (jsonResponse == null)
+		String pageName = SKILL_PAGE_NAMES.get(skill);
+		if (pageName == null)
 		{
-			log.warn("Failed to fetch wiki page: {}", levelUpPageName);
-			return null;
+			log.warn("No wiki page mapping for skill: {}", skill);
+			return CompletableFuture.completedFuture(SkillData.builder().skill(skill).build());
 		}
 		
-		return extractWikiText(jsonResponse);
+		String levelUpPageName = pageName + LEVEL_UP_TABLE_SUFFIX;
+		return wikiSource.fetchWikiPageAsync(levelUpPageName, WikiResponseReader::readFirstPage).thenApplyAsync(page -> {
+			if (!hasWikiText(page))
+			{
+				log.warn("No wiki text found for skill: {} (tried {}/Level up table)", skill, pageName);
+				return SkillData.builder().skill(skill).build();
+			}
+			
+			SkillData data = parser.parseSkillPage(skill, page.wikiText);
+			recordRevision(revisions, data, page.revision);
+			return data;
+		}, parseExecutor);
 	}
 	
-	private String extractWikiText(String jsonResponse)
+	/**
+	 * Fetches and parses the Level_up_table pages of several skills using
+	 * multi-title queries, so all skills cost one or two requests instead of one each.
+	 * Skills whose page could not be resolved from the batched response are left
+	 * out of the result so the caller can fall back to {@link #fetchSkillData(Skill, Map)}.
+	 * Once every page has arrived they are parsed concurrently.
+	 * 
+	 * @param skills The skills to fetch
+	 * @param revisions Receives the revision of each fetched page whose parse was not cut short, may be null
+	 * @return Parsed skill data keyed by skill
+	 * @throws IOException if a request fails
+	 */
+	public Map<Skill, SkillData> fetchSkillData(Collection<Skill> skills, Map<Skill, PageRevision> revisions) throws IOException
 	{
-		try
+		return fetchSkillData(skills, revisions, Collections.emptyMap());
+	}
+	
+	/**
+	 * Fetches and parses the Level_up_table pages of several skills, see
+	 * {@link #fetchSkillData(Collection, Map)}. Only the levels whose wikitext
+	 * changed since the previous data of a skill are parsed again.
+	 * 
+	 * @param skills The skills to fetch
+	 * @param revisions Receives the revision of each fetched page whose parse was not cut short, may be null
+	 * @param previous The data currently held for each skill
+	 * @return Parsed skill data keyed by skill
+	 * @throws IOException if a request fails
+	 */
+	public Map<Skill, SkillData> fetchSkillData(Collection<Skill> skills, Map<Skill, PageRevision> revisions,
+		Map<Skill, SkillData> previous) throws IOException
+	{
+		Map<String, Skill> skillsByTitle = mapTitles(skills);
+		Map<Skill, String> wikiTexts = new EnumMap<>(Skill.class);
+		Map<Skill, PageRevision> pageRevisions = new EnumMap<>(Skill.class);
+		List<String> titles = new ArrayList<>(skillsByTitle.keySet());
+		
+		for (int start = 0; start < titles.size(); start += WikiSource.MAX_TITLES_PER_REQUEST)
 		{
-			JsonParser parser = new JsonParser();
-			JsonObject root = parser.parse(jsonResponse).getAsJsonObject();
-			JsonObject query = root.getAsJsonObject("query");
-			JsonObject pages = query.getAsJsonObject("pages");
-			
-			// Get the first (and only) page
-			String pageId = pages.keySet().iterator().next();
-			JsonObject page = pages.getAsJsonObject(pageId);
-			
-			if (page.has("missing"))
+			List<String> batch = titles.subList(start, Math.min(start + WikiSource.MAX_TITLES_PER_REQUEST, titles.size()));
+			Map<String, WikiResponseReader.Page> pages = wikiSource.fetchWikiPages(batch, WikiResponseReader::readPages);
+			if (pages == null)
 			{
-				log.warn("Page marked as missing in API response");
-				return null;
+				log.warn("Failed to fetch batch of {} wiki pages", batch.size());
+				continue;
 			}
 			
-			if (!page.has("revisions") || page.getAsJsonArray("revisions").size() == 0)
+			for (String title : batch)
 			{
-				log.warn("No revisions found in page");
-				return null;
+				WikiResponseReader.Page page = pages.get(WikiResponseReader.normalizeTitle(title));
+				if (!hasWikiText(page))
+				{
+					log.warn("No wiki text found in batched response for {}", title);
+					continue;
+				}
+				
+				Skill skill = skillsByTitle.get(title);
+				if (page.revision != null)
+				{
+					pageRevisions.put(skill, page.revision);
+				}
+				wikiTexts.put(skill, page.wikiText);
+			}
+		}
+		
+		Map<Skill, SkillData> result = parseStage.parseAll(wikiTexts, previous);
+		for (SkillData data : result.values())
+		{
+			recordRevision(revisions, data, pageRevisions.get(data.getSkill()));
+		}
+		return result;
+	}
+	
+	/**
+	 * Records the revision a skill was parsed from. A page cut short by the parse
+	 * budget gets no revision, so the next refresh fetches and parses it again.
+	 */
+	private static void recordRevision(Map<Skill, PageRevision> revisions, SkillData data, PageRevision revision)
+	{
+		if (revisions == null || revision == null)
+		{
+			return;
+		}
+		
+		if (data.isTruncated())
+		{
+			revisions.remove(data.getSkill());
+		}
+		else
+		{
+			revisions.put(data.getSkill(), revision);
+		}
+	}
+	
+	/**
+	 * Fetches only the current revision of each skill's Level_up_table page,
+	 * without any page content.
+	 * 
+	 * @param skills The skills to check
+	 * @return The latest revision keyed by skill, missing entries could not be resolved
+	 * @throws IOException if a request fails
+	 */
+	public Map<Skill, PageRevision> fetchRevisions(Collection<Skill> skills) throws IOException
+	{
+		Map<String, Skill> skillsByTitle = mapTitles(skills);
+		Map<Skill, PageRevision> result = new EnumMap<>(Skill.class);
+		List<String> titles = new ArrayList<>(skillsByTitle.keySet());
+		
+		for (int start = 0; start < titles.size(); start += WikiSource.MAX_TITLES_PER_REQUEST)
+		{
+			List<String> batch = titles.subList(start, Math.min(start + WikiSource.MAX_TITLES_PER_REQUEST, titles.size()));
+			Map<String, WikiResponseReader.Page> pages = wikiSource.fetchRevisionInfo(batch, WikiResponseReader::readPages);
+			if (pages == null)
+			{
+				log.warn("Failed to fetch revisions of {} wiki pages", batch.size());
+				continue;
 			}
 			
-			JsonObject revision = page.getAsJsonArray("revisions").get(0).getAsJsonObject();
-			JsonObject slots = revision.getAsJsonObject("slots");
-			JsonObject main = slots.getAsJsonObject("main");
-			
-			return main.get("*").getAsString();
+			for (String title : batch)
+			{
+				WikiResponseReader.Page page = pages.get(WikiResponseReader.normalizeTitle(title));
+				if (page != null && page.revision != null)
+				{
+					result.put(skillsByTitle.get(title), page.revision);
+				}
+			}
+		}
+		
+		return result;
+	}
+	
+	private Map<String, Skill> mapTitles(Collection<Skill> skills)
+	{
+		Map<String, Skill> skillsByTitle = new HashMap<>();
+		for (Skill skill : skills)
+		{
+			String pageName = SKILL_PAGE_NAMES.get(skill);
+			if (pageName == null)
+			{
+				log.warn("No wiki page mapping for skill: {}", skill);
+				continue;
+			}
+			skillsByTitle.put(pageName + LEVEL_UP_TABLE_SUFFIX, skill);
+		}
+		return skillsByTitle;
+	}
+	
+	private WikiResponseReader.Page fetchWikiPage(String pageName) throws IOException
+	{
+		// Always go directly to the Level_up_table subpage
+		String levelUpPageName = pageName + LEVEL_UP_TABLE_SUFFIX;
+		
+		// The body is streamed straight into the extractor, only the content field is kept
+		WikiResponseReader.Page page = wikiSource.fetchWikiPage(levelUpPageName, WikiResponseReader::readFirstPage);
+		if (page == null)
+		{
+			log.warn("Failed to fetch wiki page: {}", levelUpPageName);
+		}
+		
+		return page;
+	}
+	
+	private static boolean hasWikiText(WikiResponseReader.Page page)
+	{
+		if (page == null)
+		{
+			return false;
 		}
-		catch (Exception e)
+		
+		if (page.missing)
 		{
-			log.error("Failed to parse wiki response: {}", e.getMessage());
-			return null;
+			log.warn("Page marked as missing in API response: {}", page.title);
+			return false;
 		}
+		
+		return page.wikiText != null && !page.wikiText.isEmpty();
+	}
+	
+	public HttpCacheStats getCacheStats()
+	{
+		return wikiSource.getCacheStats();
+	}
+	
+	public void shutdown()
+	{
+		parseStage.shutdown();
+		wikiSource.shutdown();
 	}
 }
\ No newline at end of file
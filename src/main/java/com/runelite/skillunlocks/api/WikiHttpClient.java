@@ -1,6 +1,11 @@
 package com.runelite.skillunlocks.api;
 
+import com.google.gson.stream.MalformedJsonException;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.Cache;
+import okhttp3.CacheControl;
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
@@ -8,6 +13,21 @@ import okhttp3.Response;
 import java.io.IOException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -16,105 +36,440 @@ import java.util.concurrent.TimeUnit;
  * Follows RuneLite patterns for injected HTTP services.
  */
 @Slf4j
-public class WikiHttpClient
+public class WikiHttpClient implements WikiSource
 {
 	private static final String WIKI_API_URL = "https://oldschool.runescape.wiki/api.php";
 	private static final String USER_AGENT = "RuneLite Skill Unlocks Plugin";
 	
 	// Rate limiting configuration
-	private static final long MIN_REQUEST_INTERVAL_MS = 1000; // 1 request per second
-	private static final int CONNECT_TIMEOUT_SECONDS = 30;
-	private static final int READ_TIMEOUT_SECONDS = 30;
+	private static final int DEFAULT_BURST = 2; // requests allowed back to back
+	private static final double DEFAULT_REQUESTS_PER_SECOND = 1.0; // sustained rate
+	private static final int CONNECT_TIMEOUT_SECONDS = 10;
+	private static final int READ_TIMEOUT_SECONDS = 15;
 	
+	// Retry configuration
+	private static final int MAX_ATTEMPTS = 3;
+	private static final long BASE_BACKOFF_MS = 500;
+	private static final long MAX_BACKOFF_MS = 8000;
+	private static final long MAX_RETRY_AFTER_MS = 30000; // give up rather than wait longer than this
+	private static final int MAX_LAG_SECONDS = 5; // ask the wiki to reject requests while its replicas lag
+	
+	// Circuit breaker configuration
+	private static final int CIRCUIT_FAILURE_THRESHOLD = 3;
+	private static final long CIRCUIT_INITIAL_COOLDOWN_MS = 5000;
+	private static final long CIRCUIT_MAX_COOLDOWN_MS = 5 * 60 * 1000;
+	
+	// HTTP cache configuration
+	private static final String HTTP_CACHE_DIR = "http-cache";
+	private static final long HTTP_CACHE_MAX_BYTES = 10L * 1024 * 1024; // 10 MB
+	private static final CacheControl REVALIDATE = new CacheControl.Builder().noCache().build();
+	
+	private static final String TITLE_SEPARATOR = "|";
+	
+	// Revision properties requested with page content, and on their own for metadata-only checks
+	private static final String CONTENT_PROPS = "content|ids|timestamp";
+	private static final String REVISION_PROPS = "ids|timestamp";
+	
+	private final String apiUrl;
 	private final OkHttpClient httpClient;
-	private long lastRequestTime = 0;
+	private final TokenBucketRateLimiter rateLimiter;
+	private final Cache httpCache;
+	private final CircuitBreaker circuitBreaker = new CircuitBreaker(
+		CIRCUIT_FAILURE_THRESHOLD, CIRCUIT_INITIAL_COOLDOWN_MS, CIRCUIT_MAX_COOLDOWN_MS);
+	private final ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "wiki-retry");
+		thread.setDaemon(true);
+		return thread;
+	});
+	// Requests not yet completed, failed on shutdown so no caller is left waiting on a dropped retry
+	private final Set<CompletableFuture<?>> pendingRequests = ConcurrentHashMap.newKeySet();
+	
+	private final HttpCacheStats cacheStats = new HttpCacheStats();
+	
+	public WikiHttpClient(OkHttpClient httpClient, Path cacheDirectory)
+	{
+		this(httpClient, WIKI_API_URL, cacheDirectory, DEFAULT_BURST, DEFAULT_REQUESTS_PER_SECOND);
+	}
 	
-	public WikiHttpClient(OkHttpClient httpClient)
+	/**
+	 * @param httpClient The shared client to derive the wiki client from
+	 * @param apiUrl The api.php endpoint to query, normally the live OSRS Wiki
+	 * @param cacheDirectory Directory the HTTP cache is stored under, or null to disable it
+	 * @param burst Number of requests that may be sent back to back
+	 * @param requestsPerSecond Sustained request rate once the burst is used up
+	 */
+	public WikiHttpClient(OkHttpClient httpClient, String apiUrl, Path cacheDirectory, int burst, double requestsPerSecond)
 	{
+		this.apiUrl = apiUrl;
+		this.httpCache = cacheDirectory != null
+			? new Cache(cacheDirectory.resolve(HTTP_CACHE_DIR).toFile(), HTTP_CACHE_MAX_BYTES)
+			: null;
+		
 		// Create a custom configured client for wiki operations
 		this.httpClient = httpClient.newBuilder()
 			.connectTimeout(CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
 			.readTimeout(READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+			.cache(httpCache)
 			.build();
+		this.rateLimiter = new TokenBucketRateLimiter(burst, requestsPerSecond);
+	}
+	
+	@Override
+	public <T> CompletableFuture<T> fetchWikiPageAsync(String pageName, ResponseBodyReader<T> bodyReader)
+	{
+		String encodedPageName = URLEncoder.encode(pageName, StandardCharsets.UTF_8);
+		return executeQueryAsync(buildApiUrl(encodedPageName, CONTENT_PROPS), pageName, bodyReader);
+	}
+	
+	@Override
+	public <T> CompletableFuture<T> fetchWikiPagesAsync(List<String> pageNames, ResponseBodyReader<T> bodyReader)
+	{
+		if (pageNames.isEmpty())
+		{
+			return CompletableFuture.completedFuture(null);
+		}
+		
+		checkTitleCount(pageNames);
+		return executeQueryAsync(buildApiUrl(encodeTitles(pageNames), CONTENT_PROPS), pageNames.size() + " pages", bodyReader);
+	}
+	
+	@Override
+	public <T> CompletableFuture<T> fetchRevisionInfoAsync(List<String> pageNames, ResponseBodyReader<T> bodyReader)
+	{
+		if (pageNames.isEmpty())
+		{
+			return CompletableFuture.completedFuture(null);
+		}
+		
+		checkTitleCount(pageNames);
+		return executeQueryAsync(buildApiUrl(encodeTitles(pageNames), REVISION_PROPS), "revisions of " + pageNames.size() + " pages", bodyReader);
+	}
+	
+	@Override
+	public HttpCacheStats getCacheStats()
+	{
+		return cacheStats;
+	}
+	
+	private static void checkTitleCount(List<String> pageNames)
+	{
+		if (pageNames.size() > MAX_TITLES_PER_REQUEST)
+		{
+			throw new IllegalArgumentException("Too many titles in one request: " + pageNames.size());
+		}
+	}
+	
+	private static String encodeTitles(List<String> pageNames)
+	{
+		StringJoiner titles = new StringJoiner(TITLE_SEPARATOR);
+		for (String pageName : pageNames)
+		{
+			titles.add(pageName);
+		}
+		return URLEncoder.encode(titles.toString(), StandardCharsets.UTF_8);
 	}
 	
 	/**
-	 * Fetches wiki page content with proper rate limiting.
+	 * Waits for a rate limiter permit, then enqueues the request on OkHttp's dispatcher.
+	 * No thread is blocked while waiting for either the permit or the response.
+	 * Timeouts, 5xx responses and maxlag rejections are retried with jittered
+	 * exponential backoff, and requests fail fast while the circuit breaker is open.
 	 * 
-	 * @param pageName The wiki page name to fetch
-	 * @return The wiki page content in JSON format, or null if failed
-	 * @throws IOException if the request fails
+	 * @param url The complete API URL
+	 * @param description Description of the request used in log messages
+	 * @param bodyReader Reads the response body as a character stream
+	 * @return A future with the value produced by the body reader, or null if the request was unsuccessful
 	 */
-	public synchronized String fetchWikiPage(String pageName) throws IOException
+	private <T> CompletableFuture<T> executeQueryAsync(String url, String description, ResponseBodyReader<T> bodyReader)
 	{
-		enforceRateLimit();
-		
-		String encodedPageName = URLEncoder.encode(pageName, StandardCharsets.UTF_8);
-		String url = buildApiUrl(encodedPageName);
-		
+		// no-cache makes OkHttp revalidate a stored response with If-None-Match / If-Modified-Since
+		// instead of serving it blindly, so unchanged pages cost only headers
 		Request request = new Request.Builder()
 			.url(url)
 			.header("User-Agent", USER_AGENT)
+			.cacheControl(REVALIDATE)
 			.build();
 		
-		try (Response response = httpClient.newCall(request).execute())
+		CompletableFuture<T> result = new CompletableFuture<>();
+		pendingRequests.add(result);
+		result.whenComplete((value, error) -> pendingRequests.remove(result));
+		if (retryScheduler.isShutdown())
+		{
+			result.completeExceptionally(new IOException("Wiki client is shut down, skipping request for " + description));
+			return result;
+		}
+		executeAttempt(request, description, bodyReader, 1, result);
+		return result;
+	}
+	
+	private <T> void executeAttempt(Request request, String description, ResponseBodyReader<T> bodyReader,
+		int attempt, CompletableFuture<T> result)
+	{
+		if (!circuitBreaker.allowRequest())
 		{
-			if (!response.isSuccessful())
+			result.completeExceptionally(new IOException("Wiki unavailable, skipping request for " + description));
+			return;
+		}
+		
+		rateLimiter.acquire().whenComplete((permit, permitError) -> {
+			if (permitError != null)
 			{
-				log.error("Failed to fetch wiki page: {} - HTTP {}", pageName, response.code());
-				return null;
+				result.completeExceptionally(permitError);
+				return;
 			}
 			
-			if (response.body() == null)
+			httpClient.newCall(request).enqueue(new Callback()
 			{
-				log.error("Received null response body for page: {}", pageName);
-				return null;
-			}
-			
-			return response.body().string();
+				@Override
+				public void onFailure(Call call, IOException e)
+				{
+					retryOrFail(request, description, bodyReader, attempt, result, e, 0, true);
+				}
+				
+				@Override
+				public void onResponse(Call call, Response response)
+				{
+					try (Response r = response)
+					{
+						cacheStats.record(r);
+						log.debug("Wiki request for {} served with HTTP cache {}", description, cacheStats);
+						
+						if (isMaxLagError(r))
+						{
+							// The wiki is healthy but asked us to back off, so this does not count against the circuit
+							retryOrFail(request, description, bodyReader, attempt, result,
+								new IOException("Wiki replication lag too high"), getRetryAfterMs(r), false);
+							return;
+						}
+						
+						if (r.code() >= 500 || r.code() == 429)
+						{
+							retryOrFail(request, description, bodyReader, attempt, result,
+								new IOException("HTTP " + r.code()), getRetryAfterMs(r), r.code() >= 500);
+							return;
+						}
+						
+						circuitBreaker.recordSuccess();
+						
+						if (!r.isSuccessful())
+						{
+							log.error("Failed to fetch wiki page: {} - HTTP {}", description, r.code());
+							result.complete(null);
+							return;
+						}
+						
+						if (r.body() == null)
+						{
+							log.error("Received null response body for page: {}", description);
+							result.complete(null);
+							return;
+						}
+						
+						result.complete(bodyReader.read(r.body().charStream()));
+					}
+					catch (MalformedJsonException e)
+					{
+						// Gson reports invalid JSON as an IOException, but asking again would get the
+						// same body, and a wiki that answered is no reason to open the circuit
+						failUnreadable(description, result, e);
+					}
+					catch (IOException e)
+					{
+						// Reading the body timed out or the connection dropped mid-response
+						retryOrFail(request, description, bodyReader, attempt, result, e, 0, true);
+					}
+					catch (RuntimeException e)
+					{
+						// Valid JSON of an unexpected shape fails the reader with an unchecked exception
+						failUnreadable(description, result, e);
+					}
+				}
+			});
+		});
+	}
+	
+	/**
+	 * Fails a request whose response arrived but could not be read, without retrying it
+	 */
+	private static void failUnreadable(String description, CompletableFuture<?> result, Exception error)
+	{
+		log.error("Failed to read wiki response for {} - {}", description, error.getMessage());
+		result.completeExceptionally(new IOException("Failed to read wiki response: " + description, error));
+	}
+	
+	/**
+	 * Schedules another attempt after a jittered backoff, or fails the request
+	 * if attempts are exhausted, the circuit is open or the wiki asked us to wait too long.
+	 */
+	private <T> void retryOrFail(Request request, String description, ResponseBodyReader<T> bodyReader,
+		int attempt, CompletableFuture<T> result, IOException error, long retryAfterMs, boolean countsAsFailure)
+	{
+		if (countsAsFailure && circuitBreaker.recordFailure())
+		{
+			scheduleProbe(circuitBreaker.getCooldownMs());
+		}
+		
+		long delayMs = Math.max(backoffMs(attempt), retryAfterMs);
+		if (attempt >= MAX_ATTEMPTS || circuitBreaker.isOpen() || delayMs > MAX_RETRY_AFTER_MS)
+		{
+			log.error("Failed to fetch wiki page: {} after {} attempt(s) - {}", description, attempt, error.getMessage());
+			result.completeExceptionally(error);
+			return;
+		}
+		
+		log.warn("Wiki request for {} failed ({}), retrying in {}ms", description, error.getMessage(), delayMs);
+		try
+		{
+			retryScheduler.schedule(() -> executeAttempt(request, description, bodyReader, attempt + 1, result),
+				delayMs, TimeUnit.MILLISECONDS);
+		}
+		catch (RejectedExecutionException e)
+		{
+			result.completeExceptionally(error);
 		}
 	}
 	
 	/**
-	 * Enforces rate limiting to avoid overwhelming the wiki API.
-	 * Blocks the thread if necessary to maintain the minimum request interval.
+	 * Exponential backoff with full jitter, so concurrent retries spread out
+	 */
+	private static long backoffMs(int attempt)
+	{
+		long ceiling = Math.min(MAX_BACKOFF_MS, BASE_BACKOFF_MS << (attempt - 1));
+		return ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+	}
+	
+	/**
+	 * MediaWiki rejects requests exceeding the maxlag parameter with this error header
 	 */
-	private void enforceRateLimit()
+	private static boolean isMaxLagError(Response response)
 	{
-		long currentTime = System.currentTimeMillis();
-		long timeSinceLastRequest = currentTime - lastRequestTime;
+		return "maxlag".equals(response.header("MediaWiki-API-Error"));
+	}
+	
+	/**
+	 * Parses the Retry-After header, which is either a number of seconds or an HTTP date
+	 */
+	private static long getRetryAfterMs(Response response)
+	{
+		String retryAfter = response.header("Retry-After");
+		if (retryAfter == null)
+		{
+			return 0;
+		}
 		
-		if (timeSinceLastRequest < MIN_REQUEST_INTERVAL_MS)
+		try
+		{
+			return TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim()));
+		}
+		catch (NumberFormatException e)
 		{
 			try
 			{
-				long sleepTime = MIN_REQUEST_INTERVAL_MS - timeSinceLastRequest;
-				log.debug("Rate limiting: sleeping for {}ms", sleepTime);
-				Thread.sleep(sleepTime);
+				Instant retryAt = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+				return Math.max(0, Duration.between(Instant.now(), retryAt).toMillis());
 			}
-			catch (InterruptedException e)
+			catch (DateTimeParseException ex)
 			{
-				Thread.currentThread().interrupt();
-				log.warn("Rate limiting sleep interrupted", e);
+				return 0;
 			}
 		}
+	}
+	
+	/**
+	 * Sends a tiny siteinfo request once the cooldown expires. Success closes the
+	 * circuit, failure schedules the next probe with a longer cooldown.
+	 */
+	private void scheduleProbe(long delayMs)
+	{
+		try
+		{
+			retryScheduler.schedule(this::probe, delayMs, TimeUnit.MILLISECONDS);
+		}
+		catch (RejectedExecutionException e)
+		{
+			log.debug("Skipping wiki probe, client is shut down");
+		}
+	}
+	
+	private void probe()
+	{
+		Request request = new Request.Builder()
+			.url(apiUrl + "?action=query&meta=siteinfo&format=json&maxlag=" + MAX_LAG_SECONDS)
+			.header("User-Agent", USER_AGENT)
+			.cacheControl(CacheControl.FORCE_NETWORK)
+			.build();
 		
-		lastRequestTime = System.currentTimeMillis();
+		httpClient.newCall(request).enqueue(new Callback()
+		{
+			@Override
+			public void onFailure(Call call, IOException e)
+			{
+				scheduleProbe(circuitBreaker.recordProbeFailure());
+			}
+			
+			@Override
+			public void onResponse(Call call, Response response)
+			{
+				try (Response r = response)
+				{
+					if (r.code() < 500)
+					{
+						circuitBreaker.recordSuccess();
+					}
+					else
+					{
+						scheduleProbe(circuitBreaker.recordProbeFailure());
+					}
+				}
+			}
+		});
 	}
 	
 	/**
-	 * Builds the wiki API URL for a given page.
+	 * Builds the wiki API URL for a given page or pipe-separated list of pages.
 	 * 
-	 * @param encodedPageName The URL-encoded page name
+	 * @param encodedPageName The URL-encoded page name(s)
+	 * @param revisionProps The revision properties to request
 	 * @return The complete API URL
 	 */
-	private String buildApiUrl(String encodedPageName)
+	private String buildApiUrl(String encodedPageName, String revisionProps)
 	{
 		return String.format(
-			"%s?action=query&prop=revisions&titles=%s&rvslots=*&rvprop=content&format=json",
-			WIKI_API_URL, 
-			encodedPageName
+			"%s?action=query&prop=revisions&titles=%s&rvslots=*&rvprop=%s&format=json&maxlag=%d",
+			apiUrl, 
+			encodedPageName,
+			URLEncoder.encode(revisionProps, StandardCharsets.UTF_8),
+			MAX_LAG_SECONDS
 		);
 	}
 	
+	/**
+	 * Stops the rate limiter and retry scheduler, fails every request still
+	 * waiting for a permit, a retry or a response, and closes the HTTP cache.
+	 */
+	@Override
+	public void shutdown()
+	{
+		rateLimiter.shutdown();
+		retryScheduler.shutdownNow();
+		
+		IOException shutDown = new IOException("Wiki client shut down");
+		for (CompletableFuture<?> request : pendingRequests)
+		{
+			request.completeExceptionally(shutDown);
+		}
+		
+		if (httpCache != null)
+		{
+			log.info("Wiki HTTP cache stats: {}", cacheStats);
+			try
+			{
+				httpCache.close();
+			}
+			catch (IOException e)
+			{
+				log.warn("Failed to close wiki HTTP cache", e);
+			}
+		}
+	}
 }
\ No newline at end of file
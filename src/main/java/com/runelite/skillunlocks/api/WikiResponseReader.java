@@ -0,0 +1,215 @@
+package com.runelite.skillunlocks.api;
+
+import com.google.gson.stream.JsonReader;
+import com.runelite.skillunlocks.domain.model.PageRevision;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Streaming reader for wiki query responses.
+ * Walks query.pages.*.revisions[0] with a JsonReader and keeps only the title,
+ * the revision metadata and the main slot content, skipping everything else
+ * without building a JSON tree.
+ */
+final class WikiResponseReader
+{
+	// Prevent instantiation
+	private WikiResponseReader() {}
+	
+	/**
+	 * Reads every page of a query response.
+	 *
+	 * @param body The response body character stream
+	 * @return Pages keyed by normalized title
+	 * @throws IOException if the body cannot be read or is not valid JSON
+	 */
+	static Map<String, Page> readPages(Reader body) throws IOException
+	{
+		Map<String, Page> pages = new HashMap<>();
+		
+		try (JsonReader reader = new JsonReader(body))
+		{
+			reader.beginObject();
+			while (reader.hasNext())
+			{
+				if ("query".equals(reader.nextName()))
+				{
+					readQuery(reader, pages);
+				}
+				else
+				{
+					reader.skipValue();
+				}
+			}
+			reader.endObject();
+		}
+		
+		return pages;
+	}
+	
+	/**
+	 * Reads a single-page query response.
+	 *
+	 * @return The first page of the response, or null if there is none
+	 */
+	static Page readFirstPage(Reader body) throws IOException
+	{
+		Map<String, Page> pages = readPages(body);
+		return pages.isEmpty() ? null : pages.values().iterator().next();
+	}
+	
+	/**
+	 * The API reports titles with spaces instead of underscores,
+	 * so both sides are compared in that form.
+	 */
+	static String normalizeTitle(String title)
+	{
+		return title.replace('_', ' ');
+	}
+	
+	private static void readQuery(JsonReader reader, Map<String, Page> pages) throws IOException
+	{
+		reader.beginObject();
+		while (reader.hasNext())
+		{
+			if ("pages".equals(reader.nextName()))
+			{
+				reader.beginObject();
+				while (reader.hasNext())
+				{
+					reader.nextName(); // page id
+					Page page = readPage(reader);
+					if (page.title != null)
+					{
+						pages.put(normalizeTitle(page.title), page);
+					}
+				}
+				reader.endObject();
+			}
+			else
+			{
+				reader.skipValue();
+			}
+		}
+		reader.endObject();
+	}
+	
+	private static Page readPage(JsonReader reader) throws IOException
+	{
+		Page page = new Page();
+		
+		reader.beginObject();
+		while (reader.hasNext())
+		{
+			switch (reader.nextName())
+			{
+				case "title":
+					page.title = reader.nextString();
+					break;
+				case "missing":
+					page.missing = true;
+					reader.skipValue();
+					break;
+				case "revisions":
+					reader.beginArray();
+					if (reader.hasNext())
+					{
+						readRevision(reader, page);
+					}
+					while (reader.hasNext())
+					{
+						reader.skipValue();
+					}
+					reader.endArray();
+					break;
+				default:
+					reader.skipValue();
+			}
+		}
+		reader.endObject();
+		
+		return page;
+	}
+	
+	private static void readRevision(JsonReader reader, Page page) throws IOException
+	{
+		long revisionId = -1;
+		String timestamp = null;
+		
+		reader.beginObject();
+		while (reader.hasNext())
+		{
+			switch (reader.nextName())
+			{
+				case "revid":
+					revisionId = reader.nextLong();
+					break;
+				case "timestamp":
+					timestamp = reader.nextString();
+					break;
+				case "slots":
+					page.wikiText = readMainSlotContent(reader);
+					break;
+				default:
+					reader.skipValue();
+			}
+		}
+		reader.endObject();
+		
+		if (revisionId >= 0 && timestamp != null)
+		{
+			page.revision = PageRevision.builder()
+				.revisionId(revisionId)
+				.timestamp(Instant.parse(timestamp))
+				.build();
+		}
+	}
+	
+	private static String readMainSlotContent(JsonReader reader) throws IOException
+	{
+		String content = null;
+		
+		reader.beginObject();
+		while (reader.hasNext())
+		{
+			if (!"main".equals(reader.nextName()))
+			{
+				reader.skipValue();
+				continue;
+			}
+			
+			reader.beginObject();
+			while (reader.hasNext())
+			{
+				if ("*".equals(reader.nextName()))
+				{
+					content = reader.nextString();
+				}
+				else
+				{
+					reader.skipValue();
+				}
+			}
+			reader.endObject();
+		}
+		reader.endObject();
+		
+		return content;
+	}
+	
+	/**
+	 * Title, content and revision of a single page. The wiki text is null
+	 * when the response was a metadata-only query.
+	 */
+	static final class Page
+	{
+		String title;
+		boolean missing;
+		String wikiText;
+		PageRevision revision;
+	}
+}
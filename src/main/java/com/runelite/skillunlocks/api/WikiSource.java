@@ -0,0 +1,138 @@
+package com.runelite.skillunlocks.api;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Source of wiki API query responses.
+ * Responses follow the MediaWiki query.pages JSON layout regardless of where
+ * they come from, so the fetch-parse-cache pipeline can run against the live
+ * wiki, a directory of fixtures or a local mock server.
+ */
+public interface WikiSource
+{
+	// MediaWiki separates multiple titles with a pipe and caps a query at 50 titles
+	int MAX_TITLES_PER_REQUEST = 50;
+	
+	// Longest a blocking fetch waits, enough for every retry and backoff of one request
+	long AWAIT_TIMEOUT_SECONDS = 180;
+	
+	/**
+	 * Consumes a response body as a character stream, so callers can extract
+	 * what they need without first buffering the whole body into a String.
+	 */
+	@FunctionalInterface
+	interface ResponseBodyReader<T>
+	{
+		T read(Reader body) throws IOException;
+	}
+	
+	/**
+	 * Fetches the content of a single wiki page without blocking the caller.
+	 *
+	 * @param pageName The wiki page name to fetch
+	 * @param bodyReader Reads the JSON response body
+	 * @return A future with the value produced by the body reader, or null if the request was unsuccessful
+	 */
+	<T> CompletableFuture<T> fetchWikiPageAsync(String pageName, ResponseBodyReader<T> bodyReader);
+	
+	/**
+	 * Fetches the content of several wiki pages in a single multi-title query.
+	 * The response contains one entry per title under query.pages.
+	 *
+	 * @param pageNames The wiki page names to fetch, at most {@link #MAX_TITLES_PER_REQUEST}
+	 * @param bodyReader Reads the JSON response body
+	 * @return A future with the value produced by the body reader, or null if the request was unsuccessful
+	 */
+	<T> CompletableFuture<T> fetchWikiPagesAsync(List<String> pageNames, ResponseBodyReader<T> bodyReader);
+	
+	/**
+	 * Fetches only the latest revision ID and timestamp of several wiki pages.
+	 * This is a small request used to detect which pages changed since the last fetch.
+	 *
+	 * @param pageNames The wiki page names to check, at most {@link #MAX_TITLES_PER_REQUEST}
+	 * @param bodyReader Reads the JSON response body
+	 * @return A future with the value produced by the body reader, or null if the request was unsuccessful
+	 */
+	<T> CompletableFuture<T> fetchRevisionInfoAsync(List<String> pageNames, ResponseBodyReader<T> bodyReader);
+	
+	/**
+	 * @return HTTP cache counters for this source, all zero if it has no HTTP cache
+	 */
+	HttpCacheStats getCacheStats();
+	
+	/**
+	 * Releases any threads or files held by the source.
+	 */
+	void shutdown();
+	
+	/**
+	 * Blocking variant of {@link #fetchWikiPageAsync(String, ResponseBodyReader)}.
+	 *
+	 * @throws IOException if the request fails
+	 */
+	default <T> T fetchWikiPage(String pageName, ResponseBodyReader<T> bodyReader) throws IOException
+	{
+		return await(fetchWikiPageAsync(pageName, bodyReader));
+	}
+	
+	/**
+	 * Blocking variant of {@link #fetchWikiPagesAsync(List, ResponseBodyReader)}.
+	 *
+	 * @throws IOException if the request fails
+	 */
+	default <T> T fetchWikiPages(List<String> pageNames, ResponseBodyReader<T> bodyReader) throws IOException
+	{
+		return await(fetchWikiPagesAsync(pageNames, bodyReader));
+	}
+	
+	/**
+	 * Blocking variant of {@link #fetchRevisionInfoAsync(List, ResponseBodyReader)}.
+	 *
+	 * @throws IOException if the request fails
+	 */
+	default <T> T fetchRevisionInfo(List<String> pageNames, ResponseBodyReader<T> bodyReader) throws IOException
+	{
+		return await(fetchRevisionInfoAsync(pageNames, bodyReader));
+	}
+	
+	/**
+	 * Bridges the async API to the blocking fetch methods for callers that need a value.
+	 */
+	private static <T> T await(CompletableFuture<T> future) throws IOException
+	{
+		try
+		{
+			return future.get(AWAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for wiki response");
+		}
+		catch (CancellationException e)
+		{
+			throw new InterruptedIOException("Wiki request was cancelled");
+		}
+		catch (TimeoutException e)
+		{
+			future.cancel(false);
+			throw new InterruptedIOException("Timed out waiting for wiki response");
+		}
+		catch (ExecutionException e)
+		{
+			if (e.getCause() instanceof IOException)
+			{
+				throw (IOException) e.getCause();
+			}
+			throw new IOException("Wiki request failed", e.getCause());
+		}
+	}
+}
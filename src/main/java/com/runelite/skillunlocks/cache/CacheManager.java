@@ -4,14 +4,18 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.runelite.skillunlocks.cache.model.CacheData;
 import com.runelite.skillunlocks.cache.serialization.InstantTypeAdapter;
+import com.runelite.skillunlocks.cache.serialization.PooledStringTypeAdapter;
+import com.runelite.skillunlocks.cache.serialization.SkillDataTypeAdapterFactory;
+import com.runelite.skillunlocks.cache.serialization.SkillUnlockTypeAdapterFactory;
+import com.runelite.skillunlocks.domain.model.PageRevision;
 import com.runelite.skillunlocks.domain.model.SkillData;
+import com.runelite.skillunlocks.util.StringPool;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Skill;
 import net.runelite.client.RuneLite;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
@@ -35,22 +39,38 @@ public class CacheManager
 	private static final long MIN_SAVE_INTERVAL_MS = 10000; // Minimum 10 seconds between saves
 	
 	private final Gson gson;
+    private final Path cacheDirectory;
     private final Path cacheFile;
     private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
     
     // Throttling state
     private ScheduledFuture<?> pendingSave;
     private Map<Skill, SkillData> pendingData;
+    private Map<Skill, PageRevision> pendingRevisions;
     private long lastSaveTime = 0;
 	
 	public CacheManager()
 	{
-		this.gson = new GsonBuilder()
-			.setPrettyPrinting()
-			.registerTypeAdapter(Instant.class, new InstantTypeAdapter())
-			.create();
+		this(new StringPool());
+	}
+	
+	/**
+	 * @param stringPool Pool loaded strings are shared through, usually the one the parser uses
+	 */
+	public CacheManager(StringPool stringPool)
+	{
+		this(stringPool, RuneLite.RUNELITE_DIR.toPath());
+	}
+	
+	/**
+	 * @param stringPool Pool loaded strings are shared through, usually the one the parser uses
+	 * @param baseDirectory Directory the cache directory is created in, the RuneLite home outside of tests
+	 */
+	public CacheManager(StringPool stringPool, Path baseDirectory)
+	{
+		this.gson = createGson(true, stringPool);
 
-        Path cacheDirectory = Paths.get(RuneLite.RUNELITE_DIR.toString(), CACHE_DIR);
+        this.cacheDirectory = baseDirectory.resolve(CACHE_DIR);
 		this.cacheFile = cacheDirectory.resolve(CACHE_FILE);
 		
 		try
@@ -63,10 +83,46 @@ public class CacheManager
 		}
 	}
 	
+	static Gson createGson(boolean prettyPrinting)
+	{
+		return createGson(prettyPrinting, new StringPool());
+	}
+	
+	static Gson createGson(boolean prettyPrinting, StringPool stringPool)
+	{
+		GsonBuilder builder = new GsonBuilder()
+			.registerTypeAdapter(Instant.class, new InstantTypeAdapter())
+			.registerTypeAdapter(String.class, new PooledStringTypeAdapter(stringPool))
+			.registerTypeAdapterFactory(new SkillUnlockTypeAdapterFactory())
+			.registerTypeAdapterFactory(new SkillDataTypeAdapterFactory());
+		if (prettyPrinting)
+		{
+			builder.setPrettyPrinting();
+		}
+		return builder.create();
+	}
+	
+	/**
+	 * @return The plugin's directory under the RuneLite home, shared by all on-disk caches
+	 */
+	public Path getCacheDirectory()
+	{
+		return cacheDirectory;
+	}
+	
 	public synchronized void saveSkillData(Map<Skill, SkillData> skillDataMap)
+	{
+		saveSkillData(skillDataMap, new HashMap<>());
+	}
+	
+	/**
+	 * Schedules a save of the skill data along with the wiki revision each skill was parsed from
+	 */
+	public synchronized void saveSkillData(Map<Skill, SkillData> skillDataMap, Map<Skill, PageRevision> revisions)
 	{
 		// Store pending data
 		pendingData = new HashMap<>(skillDataMap);
+		pendingRevisions = new HashMap<>(revisions);
 		
 		// Cancel any existing pending save
 		if (pendingSave != null && !pendingSave.isDone())
@@ -96,6 +152,7 @@ public class CacheManager
 			CacheData cacheData = new CacheData();
 			cacheData.setLastUpdated(Instant.now());
 			cacheData.setSkillData(pendingData);
+			cacheData.setRevisions(pendingRevisions);
 			
 			String json = gson.toJson(cacheData);
 			
@@ -112,6 +169,7 @@ public class CacheManager
 		finally
 		{
 			pendingData = null;
+			pendingRevisions = null;
 		}
 	}
 	
@@ -149,11 +207,22 @@ public class CacheManager
 	}
 	
 	public Map<Skill, SkillData> loadSkillData()
+	{
+		CacheData cacheData = loadCacheData();
+		return cacheData != null ? cacheData.getSkillData() : new HashMap<>();
+	}
+	
+	/**
+	 * Loads the full cache contents including page revisions
+	 * 
+	 * @return The cached data, or null if there is no usable cache
+	 */
+	public CacheData loadCacheData()
 	{
 		if (!Files.exists(cacheFile))
 		{
 			log.info("No cache file found");
-			return new HashMap<>();
+			return null;
 		}
 		
 		try
@@ -162,15 +231,19 @@ public class CacheManager
 			String json = readWithLock();
 			if (json.isEmpty())
 			{
-				return new HashMap<>();
+				return null;
 			}
 			
 			CacheData cacheData = gson.fromJson(json, CacheData.class);
 			
 			if (cacheData != null && cacheData.getSkillData() != null)
 			{
+				if (cacheData.getRevisions() == null)
+				{
+					cacheData.setRevisions(new HashMap<>());
+				}
 				log.info("Loaded skill data cache from {}", cacheFile);
-				return cacheData.getSkillData();
+				return cacheData;
 			}
 		}
 		catch (IOException e)
@@ -178,7 +251,7 @@ public class CacheManager
 			log.error("Failed to load skill data cache", e);
 		}
 		
-		return new HashMap<>();
+		return null;
 	}
 	
 	private String readWithLock() throws IOException
@@ -233,6 +306,7 @@ public class CacheManager
 			pendingSave.cancel(false);
 		}
 		pendingData = null;
+		pendingRevisions = null;
 		
 		try
 		{
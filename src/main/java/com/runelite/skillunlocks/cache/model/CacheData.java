@@ -1,5 +1,6 @@
 package com.runelite.skillunlocks.cache.model;
 
+import com.runelite.skillunlocks.domain.model.PageRevision;
 import com.runelite.skillunlocks.domain.model.SkillData;
 import net.runelite.api.Skill;
 import java.time.Instant;
@@ -12,6 +13,7 @@ public class CacheData
 {
 	private Instant lastUpdated;
 	private Map<Skill, SkillData> skillData;
+	private Map<Skill, PageRevision> revisions;
 	
 	public Instant getLastUpdated()
 	{
@@ -32,4 +34,14 @@ public class CacheData
 	{
 		this.skillData = skillData;
 	}
+	
+	public Map<Skill, PageRevision> getRevisions()
+	{
+		return revisions;
+	}
+	
+	public void setRevisions(Map<Skill, PageRevision> revisions)
+	{
+		this.revisions = revisions;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.runelite.skillunlocks.cache.serialization;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.runelite.skillunlocks.util.StringPool;
+import java.io.IOException;
+
+/**
+ * Reads every string through a pool, so values repeated across the cache
+ * are loaded as one instance
+ */
+public class PooledStringTypeAdapter extends TypeAdapter<String>
+{
+	private final StringPool stringPool;
+	
+	public PooledStringTypeAdapter(StringPool stringPool)
+	{
+		this.stringPool = stringPool;
+	}
+	
+	@Override
+	public void write(JsonWriter out, String value) throws IOException
+	{
+		out.value(value);
+	}
+	
+	@Override
+	public String read(JsonReader in) throws IOException
+	{
+		JsonToken token = in.peek();
+		if (token == JsonToken.NULL)
+		{
+			in.nextNull();
+			return null;
+		}
+		if (token == JsonToken.BOOLEAN)
+		{
+			return Boolean.toString(in.nextBoolean());
+		}
+		return stringPool.intern(in.nextString());
+	}
+}
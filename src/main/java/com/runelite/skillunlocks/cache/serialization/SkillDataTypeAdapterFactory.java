@@ -0,0 +1,143 @@
+package com.runelite.skillunlocks.cache.serialization;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.runelite.skillunlocks.domain.model.SkillData;
+import com.runelite.skillunlocks.domain.model.SkillUnlock;
+import net.runelite.api.Skill;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Writes skill data as a flat list of unlocks and reads it back through the
+ * builder, so the level tables are built on load. Also reads caches written
+ * before the list was flat, which grouped unlocks by level under "levelData".
+ */
+public class SkillDataTypeAdapterFactory implements TypeAdapterFactory
+{
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type)
+	{
+		if (type.getRawType() != SkillData.class)
+		{
+			return null;
+		}
+		
+		TypeAdapter<Skill> skillAdapter = gson.getAdapter(Skill.class);
+		TypeAdapter<Instant> instantAdapter = gson.getAdapter(Instant.class);
+		TypeAdapter<SkillUnlock> unlockAdapter = gson.getAdapter(SkillUnlock.class);
+		TypeAdapter<TreeMap<Integer, Long>> hashesAdapter = gson.getAdapter(new TypeToken<TreeMap<Integer, Long>>(){});
+		return (TypeAdapter<T>) new TypeAdapter<SkillData>()
+		{
+			@Override
+			public void write(JsonWriter out, SkillData value) throws IOException
+			{
+				if (value == null)
+				{
+					out.nullValue();
+					return;
+				}
+				
+				out.beginObject();
+				out.name("skill");
+				skillAdapter.write(out, value.getSkill());
+				out.name("lastUpdated");
+				instantAdapter.write(out, value.getLastUpdated());
+				out.name("unlocks");
+				out.beginArray();
+				for (SkillUnlock unlock : value.getAllUnlocks())
+				{
+					unlockAdapter.write(out, unlock);
+				}
+				out.endArray();
+				out.name("levelHashes");
+				hashesAdapter.write(out, new TreeMap<>(value.getLevelHashes()));
+				out.endObject();
+			}
+			
+			@Override
+			public SkillData read(JsonReader in) throws IOException
+			{
+				if (in.peek() == JsonToken.NULL)
+				{
+					in.nextNull();
+					return null;
+				}
+				
+				SkillData.SkillDataBuilder builder = SkillData.builder();
+				in.beginObject();
+				while (in.hasNext())
+				{
+					switch (in.nextName())
+					{
+						case "skill":
+							builder.skill(skillAdapter.read(in));
+							break;
+						case "lastUpdated":
+							builder.lastUpdated(instantAdapter.read(in));
+							break;
+						case "unlocks":
+							builder.unlocks(readUnlocks(in));
+							break;
+						case "levelData":
+							// Legacy layout, {"<level>": {"level": <level>, "unlocks": [...]}}
+							in.beginObject();
+							while (in.hasNext())
+							{
+								in.nextName();
+								in.beginObject();
+								while (in.hasNext())
+								{
+									if (in.nextName().equals("unlocks"))
+									{
+										builder.unlocks(readUnlocks(in));
+									}
+									else
+									{
+										in.skipValue();
+									}
+								}
+								in.endObject();
+							}
+							in.endObject();
+							break;
+						case "levelHashes":
+							builder.levelHashes(hashesAdapter.read(in));
+							break;
+						default:
+							in.skipValue();
+							break;
+					}
+				}
+				in.endObject();
+				return builder.build();
+			}
+			
+			private List<SkillUnlock> readUnlocks(JsonReader in) throws IOException
+			{
+				List<SkillUnlock> unlocks = new ArrayList<>();
+				if (in.peek() == JsonToken.NULL)
+				{
+					in.nextNull();
+					return unlocks;
+				}
+				in.beginArray();
+				while (in.hasNext())
+				{
+					unlocks.add(unlockAdapter.read(in));
+				}
+				in.endArray();
+				return unlocks;
+			}
+		};
+	}
+}
@@ -0,0 +1,137 @@
+package com.runelite.skillunlocks.cache.serialization;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.runelite.skillunlocks.domain.model.SkillUnlock;
+import com.runelite.skillunlocks.domain.model.UnlockRequirement;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Reads and writes unlocks field by field through the builder. Also reads
+ * unlocks cached before the members flag existed, when it was stored as a
+ * "Members only" description.
+ */
+public class SkillUnlockTypeAdapterFactory implements TypeAdapterFactory
+{
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type)
+	{
+		if (type.getRawType() != SkillUnlock.class)
+		{
+			return null;
+		}
+		
+		TypeAdapter<String> stringAdapter = gson.getAdapter(String.class);
+		TypeAdapter<SkillUnlock.UnlockType> typeAdapter = gson.getAdapter(SkillUnlock.UnlockType.class);
+		TypeAdapter<List<UnlockRequirement>> requirementsAdapter = gson.getAdapter(new TypeToken<List<UnlockRequirement>>(){});
+		return (TypeAdapter<T>) new TypeAdapter<SkillUnlock>()
+		{
+			@Override
+			public void write(JsonWriter out, SkillUnlock value) throws IOException
+			{
+				if (value == null)
+				{
+					out.nullValue();
+					return;
+				}
+				
+				out.beginObject();
+				out.name("level").value(value.getLevel());
+				if (value.getName() != null)
+				{
+					out.name("name");
+					stringAdapter.write(out, value.getName());
+				}
+				out.name("members").value(value.isMembers());
+				if (value.getRequirements() != null)
+				{
+					out.name("requirements");
+					stringAdapter.write(out, value.getRequirements());
+				}
+				out.name("requirementEntries");
+				requirementsAdapter.write(out, value.getRequirementEntries());
+				if (value.getType() != null)
+				{
+					out.name("type");
+					typeAdapter.write(out, value.getType());
+				}
+				out.endObject();
+			}
+			
+			@Override
+			public SkillUnlock read(JsonReader in) throws IOException
+			{
+				if (in.peek() == JsonToken.NULL)
+				{
+					in.nextNull();
+					return null;
+				}
+				
+				SkillUnlock.SkillUnlockBuilder builder = SkillUnlock.builder();
+				boolean hasMembers = false;
+				boolean legacyMembers = false;
+				in.beginObject();
+				while (in.hasNext())
+				{
+					String name = in.nextName();
+					if (in.peek() == JsonToken.NULL)
+					{
+						in.nextNull();
+						continue;
+					}
+					
+					switch (name)
+					{
+						case "level":
+							builder.level(in.nextInt());
+							break;
+						case "name":
+							builder.name(stringAdapter.read(in));
+							break;
+						case "members":
+							builder.members(in.nextBoolean());
+							hasMembers = true;
+							break;
+						case "description":
+							// Legacy field, only ever "Members only" or empty
+							if (in.peek() == JsonToken.STRING)
+							{
+								legacyMembers = SkillUnlock.MEMBERS_DESCRIPTION.equals(in.nextString());
+							}
+							else
+							{
+								in.skipValue();
+							}
+							break;
+						case "requirements":
+							builder.requirements(stringAdapter.read(in));
+							break;
+						case "requirementEntries":
+							builder.requirementEntries(requirementsAdapter.read(in));
+							break;
+						case "type":
+							builder.type(typeAdapter.read(in));
+							break;
+						default:
+							in.skipValue();
+							break;
+					}
+				}
+				in.endObject();
+				
+				if (!hasMembers)
+				{
+					builder.members(legacyMembers);
+				}
+				return builder.build();
+			}
+		};
+	}
+}
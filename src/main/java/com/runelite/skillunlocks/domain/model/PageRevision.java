@@ -0,0 +1,19 @@
+package com.runelite.skillunlocks.domain.model;
+
+import lombok.Data;
+import lombok.Builder;
+import java.time.Instant;
+
+/**
+ * Revision metadata of a wiki page
+ * 
+ * Used to detect whether a Level_up_table page has been edited since
+ * it was last fetched, so unchanged pages can be skipped on refresh.
+ */
+@Data
+@Builder
+public class PageRevision
+{
+	private final long revisionId;
+	private final Instant timestamp;
+}
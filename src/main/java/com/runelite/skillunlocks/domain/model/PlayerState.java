@@ -0,0 +1,34 @@
+package com.runelite.skillunlocks.domain.model;
+
+import net.runelite.api.Skill;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Snapshot of the player's real skill levels
+ * 
+ * Taken on the client thread and read from the UI, so it is never modified
+ * after construction.
+ */
+public final class PlayerState
+{
+	/**
+	 * State of a player whose stats are not known yet, every skill is level 1
+	 */
+	public static final PlayerState UNKNOWN = new PlayerState(Collections.emptyMap());
+	
+	private final int[] levels = new int[Skill.values().length];
+	
+	public PlayerState(Map<Skill, Integer> skillLevels)
+	{
+		for (Skill skill : Skill.values())
+		{
+			levels[skill.ordinal()] = skillLevels.getOrDefault(skill, 1);
+		}
+	}
+	
+	public int getLevel(Skill skill)
+	{
+		return levels[skill.ordinal()];
+	}
+}
@@ -1,53 +1,161 @@
 package com.runelite.skillunlocks.domain.model;
 
-import lombok.Data;
+import lombok.AccessLevel;
 import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Singular;
+import lombok.ToString;
 import net.runelite.api.Skill;
-import java.util.NavigableMap;
-import java.util.TreeMap;
-import java.util.List;
-import java.util.ArrayList;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 
+/**
+ * The unlocks of one skill, immutable once built
+ * 
+ * Unlocks are held in one array sorted by level, with a table indexed by level
+ * of where each level's unlocks start, so lookups by level take constant time.
+ * The next level with unlocks is the level of the first unlock past the
+ * current level, so it needs no table of its own.
+ */
 @Data
-@Builder
 public class SkillData
 {
+	// Highest virtual level, the level tables always reach at least this far
+	public static final int MAX_LEVEL = 126;
+	private static final SkillUnlock[] NO_UNLOCKS = new SkillUnlock[0];
+	
 	private final Skill skill;
-	@Builder.Default
-	private final NavigableMap<Integer, SkillLevelData> levelData = new TreeMap<>();
-	private Instant lastUpdated;
+	private final Instant lastUpdated;
+	@Getter(AccessLevel.NONE)
+	private final SkillUnlock[] unlocks;
+	// Hash of the wikitext each level was parsed from, so an edited page only reparses the levels that changed
+	private final Map<Integer, Long> levelHashes;
+	// Parsing ran out of its time budget and kept only part of the page, so the page must be parsed again
+	private final boolean truncated;
 	
-	public void addUnlock(SkillUnlock unlock)
+	// Offset in unlocks of the first unlock at or above each level, the last entry is the end of the array.
+	// Unlocks are sorted, so the entry for level + 1 is also the number of unlocks at or below the level
+	@Getter(AccessLevel.NONE)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private final int[] levelStarts;
+	@Getter(AccessLevel.NONE)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private final List<SkillUnlock> unlockView;
+	
+	/**
+	 * @param unlocks Unlocks in any level order, unlocks of the same level keep their order
+	 * @param levelHashes Wikitext hash of each parsed level, may be null
+	 * @param truncated Whether the page was cut short by the parse budget
+	 */
+	@Builder
+	public SkillData(Skill skill, Instant lastUpdated, @Singular List<SkillUnlock> unlocks, Map<Integer, Long> levelHashes,
+		boolean truncated)
 	{
-		levelData.computeIfAbsent(unlock.getLevel(), level -> 
-			SkillLevelData.builder()
-				.level(level)
-				.build()
-		).addUnlock(unlock);
+		this.skill = skill;
+		this.lastUpdated = lastUpdated;
+		this.levelHashes = levelHashes != null ? Collections.unmodifiableMap(levelHashes) : Collections.emptyMap();
+		this.truncated = truncated;
+		
+		// Object sorts are stable, so each level keeps the page order
+		this.unlocks = unlocks.toArray(NO_UNLOCKS);
+		Arrays.sort(this.unlocks, Comparator.comparingInt(SkillUnlock::getLevel));
+		this.unlockView = Collections.unmodifiableList(Arrays.asList(this.unlocks));
+		
+		int highestLevel = MAX_LEVEL;
+		if (this.unlocks.length > 0)
+		{
+			if (this.unlocks[0].getLevel() < 0)
+			{
+				throw new IllegalArgumentException("Unlock level below 0: " + this.unlocks[0]);
+			}
+			highestLevel = Math.max(highestLevel, this.unlocks[this.unlocks.length - 1].getLevel());
+		}
+		
+		levelStarts = new int[highestLevel + 2];
+		int index = 0;
+		for (int level = 0; level < levelStarts.length; level++)
+		{
+			while (index < this.unlocks.length && this.unlocks[index].getLevel() < level)
+			{
+				index++;
+			}
+			levelStarts[level] = index;
+		}
 	}
 	
-	public List<SkillUnlock> getUnlocksForLevel(int level)
+	public int getUnlockCount()
 	{
-		SkillLevelData data = levelData.get(level);
-		return data != null ? data.getUnlocks() : new ArrayList<>();
+		return unlocks.length;
 	}
 	
+	/**
+	 * @return All unlocks sorted by level, an immutable view shared by every caller
+	 */
 	public List<SkillUnlock> getAllUnlocks()
 	{
-		List<SkillUnlock> allUnlocks = new ArrayList<>();
-		levelData.values().forEach(data -> allUnlocks.addAll(data.getUnlocks()));
-		return allUnlocks;
+		return unlockView;
+	}
+	
+	/**
+	 * @return The number of unlocks at or below the level, e.g. those a player at the level has unlocked
+	 */
+	public int getUnlockCountUpToLevel(int maxLevel)
+	{
+		if (maxLevel < 0)
+		{
+			return 0;
+		}
+		return maxLevel < levelStarts.length - 1 ? levelStarts[maxLevel + 1] : unlocks.length;
+	}
+	
+	/**
+	 * @return The unlocks at exactly the level, in page order
+	 */
+	public List<SkillUnlock> getUnlocksForLevel(int level)
+	{
+		return getUnlocksInLevelRange(level, level);
+	}
+	
+	/**
+	 * @return A view of the unlocks at or below the level, sorted by level
+	 */
+	public List<SkillUnlock> getUnlocksUpToLevel(int maxLevel)
+	{
+		return getUnlocksInLevelRange(0, maxLevel);
+	}
+	
+	/**
+	 * @return A view of the unlocks from the minimum to the maximum level inclusive, sorted by level
+	 */
+	public List<SkillUnlock> getUnlocksInLevelRange(int minLevel, int maxLevel)
+	{
+		int start = getUnlockCountUpToLevel(minLevel - 1);
+		int end = getUnlockCountUpToLevel(maxLevel);
+		return start < end ? unlockView.subList(start, end) : Collections.emptyList();
 	}
 	
-	public NavigableMap<Integer, SkillLevelData> getUnlocksUpToLevel(int maxLevel)
+	/**
+	 * @return The first level above the current level that has unlocks, -1 if there is none
+	 */
+	public int getNextUnlockLevel(int currentLevel)
 	{
-		return levelData.headMap(maxLevel, true);
+		int next = getUnlockCountUpToLevel(currentLevel);
+		return next < unlocks.length ? unlocks[next].getLevel() : -1;
 	}
 	
-	public SkillLevelData getNextUnlock(int currentLevel)
+	/**
+	 * @return The unlocks of the first level above the current level that has any, empty if there is none
+	 */
+	public List<SkillUnlock> getNextUnlock(int currentLevel)
 	{
-		Integer nextLevel = levelData.higherKey(currentLevel);
-		return nextLevel != null ? levelData.get(nextLevel) : null;
+		return getUnlocksForLevel(getNextUnlockLevel(currentLevel));
 	}
-}
\ No newline at end of file
+}
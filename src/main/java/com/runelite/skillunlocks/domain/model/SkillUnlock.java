@@ -2,24 +2,48 @@ package com.runelite.skillunlocks.domain.model;
 
 import lombok.Data;
 import lombok.Builder;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Represents a single skill unlock at a specific level
  * 
  * Contains information about what becomes available at a certain skill level,
- * including the name, description, requirements, and type of unlock.
+ * including the name, requirements, type of unlock and whether it is members only.
+ * Requirements are kept both as the wiki text, for display and search, and
+ * as parsed entries, for checking them against the player.
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class SkillUnlock
 {
+	public static final String MEMBERS_DESCRIPTION = "Members only";
+	
 	private final int level;
 	private final String name;
-	private final String description;
+	private final boolean members;
 	@Builder.Default
 	private final String requirements = "";
+	@Builder.Default
+	private final List<UnlockRequirement> requirementEntries = Collections.emptyList();
 	private final UnlockType type;
 	
+	/**
+	 * @return The parsed requirements, empty for data cached before they were parsed
+	 */
+	public List<UnlockRequirement> getRequirementEntries()
+	{
+		return requirementEntries != null ? requirementEntries : Collections.emptyList();
+	}
+	
+	/**
+	 * @return "Members only" for members unlocks, empty otherwise
+	 */
+	public String getDescription()
+	{
+		return members ? MEMBERS_DESCRIPTION : "";
+	}
+	
 	public enum UnlockType
 	{
 		ITEM,
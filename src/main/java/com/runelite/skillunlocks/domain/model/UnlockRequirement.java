@@ -0,0 +1,39 @@
+package com.runelite.skillunlocks.domain.model;
+
+import lombok.Data;
+import lombok.Builder;
+import net.runelite.api.Skill;
+
+/**
+ * A single requirement of an unlock, parsed once from the wiki text
+ * 
+ * Skill requirements carry the skill and level so they can be checked
+ * against the player's stats; quest and other requirements are kept for
+ * display and cannot be checked.
+ */
+@Data
+@Builder
+public class UnlockRequirement
+{
+	private final Type type;
+	// Requirement as written on the wiki, e.g. "Defence 5"
+	private final String text;
+	private final Skill skill;
+	private final int level;
+	private final String quest;
+	
+	public enum Type
+	{
+		SKILL,
+		QUEST,
+		OTHER
+	}
+	
+	/**
+	 * @return true if the player meets the requirement, false if not or if it cannot be checked
+	 */
+	public boolean isMet(PlayerState playerState)
+	{
+		return type == Type.SKILL && playerState.getLevel(skill) >= level;
+	}
+}
@@ -0,0 +1,18 @@
+package com.runelite.skillunlocks.domain.model;
+
+import lombok.Data;
+import lombok.Builder;
+import net.runelite.api.Skill;
+
+/**
+ * An unlock the player has not reached yet, with how far away it is
+ */
+@Data
+@Builder
+public class UpcomingUnlock
+{
+	private final Skill skill;
+	private final SkillUnlock unlock;
+	// Experience the player still needs in the skill to reach the unlock level
+	private final int xpRemaining;
+}
@@ -0,0 +1,241 @@
+package com.runelite.skillunlocks.domain.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Skill;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Orders skill fetches by how soon the user needs them.
+ * The selected skill is fetched first, then skills the user hovers in the
+ * selector, and everything else is backfilled afterwards. Foreground requests
+ * are fetched one skill per request so the first paint waits on a single page,
+ * background requests are drained together as one batch. Each skill has at most
+ * one queued entry; requesting it again only raises its priority, and requesting
+ * a skill that is being fetched right now waits for that fetch.
+ */
+@Slf4j
+public class SkillFetchScheduler
+{
+	public enum Priority
+	{
+		SELECTED,
+		HOVERED,
+		BACKGROUND
+	}
+	
+	private static final class Entry
+	{
+		private final Skill skill;
+		private final CompletableFuture<Void> future = new CompletableFuture<>();
+		private Priority priority;
+		private long sequence;
+		
+		private Entry(Skill skill, Priority priority, long sequence)
+		{
+			this.skill = skill;
+			this.priority = priority;
+			this.sequence = sequence;
+		}
+	}
+	
+	private final Consumer<List<Skill>> loader;
+	private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "skill-fetch-scheduler");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final Map<Skill, Entry> queued = new EnumMap<>(Skill.class);
+	private final Map<Skill, Entry> running = new EnumMap<>(Skill.class);
+	private long nextSequence;
+	private boolean draining;
+	private boolean shutdown;
+	
+	/**
+	 * @param loader Fetches the given skills, blocking until they are stored
+	 */
+	public SkillFetchScheduler(Consumer<List<Skill>> loader)
+	{
+		this.loader = loader;
+	}
+	
+	/**
+	 * Queues a skill, or raises the priority of an already queued one.
+	 *
+	 * @param skill The skill to fetch
+	 * @param priority How urgently the skill is needed
+	 * @return A future completed once the fetch including the skill has run,
+	 *         cancelled if the scheduler shuts down first
+	 */
+	public synchronized CompletableFuture<Void> schedule(Skill skill, Priority priority)
+	{
+		if (shutdown)
+		{
+			CompletableFuture<Void> cancelled = new CompletableFuture<>();
+			cancelled.cancel(false);
+			return cancelled;
+		}
+		
+		Entry entry = queued.get(skill);
+		if (entry == null)
+		{
+			Entry current = running.get(skill);
+			if (current != null)
+			{
+				// Fetching it again would ask the wiki for the same page
+				return current.future;
+			}
+			entry = new Entry(skill, priority, nextSequence++);
+			queued.put(skill, entry);
+		}
+		else if (priority.compareTo(entry.priority) <= 0)
+		{
+			// The most recent foreground request wins among equals
+			entry.priority = priority;
+			entry.sequence = nextSequence++;
+		}
+		
+		if (!draining)
+		{
+			draining = true;
+			worker.execute(this::drain);
+		}
+		return entry.future;
+	}
+	
+	/**
+	 * Queues skills to be backfilled once no foreground request is waiting.
+	 */
+	public synchronized CompletableFuture<Void> scheduleBackground(Collection<Skill> skills)
+	{
+		List<CompletableFuture<Void>> futures = new ArrayList<>();
+		for (Skill skill : skills)
+		{
+			futures.add(schedule(skill, Priority.BACKGROUND));
+		}
+		return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+	}
+	
+	/**
+	 * Cancels every queued fetch and releases the waiters of the running one.
+	 * The running loader is interrupted, but only returns once its own requests
+	 * complete, which the wiki client does for every pending request on shutdown.
+	 */
+	public void shutdown()
+	{
+		List<Entry> cancelled;
+		synchronized (this)
+		{
+			shutdown = true;
+			cancelled = new ArrayList<>(queued.values());
+			cancelled.addAll(running.values());
+			queued.clear();
+			running.clear();
+		}
+		
+		if (!cancelled.isEmpty())
+		{
+			log.debug("Cancelling {} skill fetches", cancelled.size());
+		}
+		for (Entry entry : cancelled)
+		{
+			entry.future.cancel(false);
+		}
+		worker.shutdownNow();
+	}
+	
+	private void drain()
+	{
+		while (true)
+		{
+			List<Entry> batch = takeNext();
+			if (batch.isEmpty())
+			{
+				return;
+			}
+			
+			List<Skill> skills = new ArrayList<>(batch.size());
+			for (Entry entry : batch)
+			{
+				skills.add(entry.skill);
+			}
+			
+			try
+			{
+				loader.accept(skills);
+				finish(batch);
+				for (Entry entry : batch)
+				{
+					entry.future.complete(null);
+				}
+			}
+			catch (RuntimeException e)
+			{
+				log.error("Scheduled fetch failed for {}", skills, e);
+				finish(batch);
+				for (Entry entry : batch)
+				{
+					entry.future.completeExceptionally(e);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Removes the next unit of work from the queue: the most urgent foreground
+	 * skill on its own, or every remaining skill once only background work is left.
+	 */
+	private synchronized List<Entry> takeNext()
+	{
+		Entry next = null;
+		for (Entry entry : queued.values())
+		{
+			if (next == null || entry.priority.compareTo(next.priority) < 0
+				|| (entry.priority == next.priority && entry.sequence > next.sequence))
+			{
+				next = entry;
+			}
+		}
+		
+		if (next == null || shutdown)
+		{
+			draining = false;
+			return new ArrayList<>();
+		}
+		
+		List<Entry> batch = new ArrayList<>();
+		if (next.priority == Priority.BACKGROUND)
+		{
+			batch.addAll(queued.values());
+			queued.clear();
+		}
+		else
+		{
+			batch.add(queued.remove(next.skill));
+		}
+		for (Entry entry : batch)
+		{
+			running.put(entry.skill, entry);
+		}
+		return batch;
+	}
+	
+	/**
+	 * Forgets a batch whose fetch has run, so a later request fetches its skills again
+	 */
+	private synchronized void finish(List<Entry> batch)
+	{
+		for (Entry entry : batch)
+		{
+			running.remove(entry.skill, entry);
+		}
+	}
+}
@@ -2,8 +2,14 @@ package com.runelite.skillunlocks.domain.repository;
 
 import com.runelite.skillunlocks.cache.CacheManager;
 import com.runelite.skillunlocks.api.WikiApiClient;
+import com.runelite.skillunlocks.cache.model.CacheData;
+import com.runelite.skillunlocks.domain.model.PageRevision;
 import com.runelite.skillunlocks.domain.model.SkillData;
 import com.runelite.skillunlocks.domain.model.SkillUnlock;
+import com.runelite.skillunlocks.service.parser.RequirementParser;
+import com.runelite.skillunlocks.service.parser.UnlockTypeClassifier;
+import com.runelite.skillunlocks.service.search.UnlockSearchIndex;
+import com.runelite.skillunlocks.util.StringPool;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Skill;
 import java.io.IOException;
@@ -25,14 +31,33 @@ public class UnlockRepository
 {
 	private final WikiApiClient wikiApiClient;
 	private final CacheManager cacheManager;
-	private final Map<Skill, SkillData> skillDataMap = new ConcurrentHashMap<>();
+	private final UnlockTypeClassifier unlockTypeClassifier;
+	private final StringPool stringPool;
+	// Replaced as a whole on every merge, readers always see one consistent generation
+	private volatile Map<Skill, SkillData> skillDataMap = Collections.emptyMap();
+	private final Map<Skill, PageRevision> revisionMap = new ConcurrentHashMap<>();
+	// Follows every merge, so cross-skill queries never rebuild from the whole map
+	private final UpcomingUnlocks upcomingUnlocks = new UpcomingUnlocks();
+	// Rebuilt with the map, so searches never scan the unlock text
+	private volatile UnlockSearchIndex searchIndex = UnlockSearchIndex.EMPTY;
+	// Single-flight loads, concurrent callers for a skill share one fetch
+	private final Map<Skill, CompletableFuture<SkillData>> inFlight = new ConcurrentHashMap<>();
 	private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+	private final SkillFetchScheduler fetchScheduler = new SkillFetchScheduler(this::fetchSkillData);
 	private boolean initialized = false;
 	
-	public UnlockRepository(WikiApiClient wikiApiClient, CacheManager cacheManager)
+	/**
+	 * @param unlockTypeClassifier The classifier the parser uses, applied again to
+	 *        cached data so it follows the current rules
+	 * @param stringPool The pool the cache and parser load strings through, cleared after each load
+	 */
+	public UnlockRepository(WikiApiClient wikiApiClient, CacheManager cacheManager, UnlockTypeClassifier unlockTypeClassifier,
+		StringPool stringPool)
 	{
 		this.wikiApiClient = wikiApiClient;
 		this.cacheManager = cacheManager;
+		this.unlockTypeClassifier = unlockTypeClassifier;
+		this.stringPool = stringPool;
 	}
 	
 	/**
@@ -42,90 +67,374 @@ public class UnlockRepository
 	 * @param cacheExpiryHours Number of hours before cache is considered expired
 	 */
 	public void initialize(boolean forceRefresh, int cacheExpiryHours)
+	{
+		initialize(forceRefresh, cacheExpiryHours, null);
+	}
+	
+	/**
+	 * Initialize the repository by loading skill data
+	 * 
+	 * @param forceRefresh If true, forces a refresh from wiki ignoring cache
+	 * @param cacheExpiryHours Number of hours before cache is considered expired
+	 * @param initialSkill Skill shown first, fetched ahead of the others, may be null
+	 */
+	public void initialize(boolean forceRefresh, int cacheExpiryHours, Skill initialSkill)
 	{
 		if (initialized && !forceRefresh)
 		{
 			return;
 		}
 		
-		if (!forceRefresh && !cacheManager.isCacheExpired(cacheExpiryHours))
+		if (!forceRefresh)
 		{
-			log.info("Loading skill data from cache");
-			Map<Skill, SkillData> cachedData = cacheManager.loadSkillData();
-			if (!cachedData.isEmpty())
+			CacheData cachedData = cacheManager.loadCacheData();
+			if (cachedData != null && !cachedData.getSkillData().isEmpty())
 			{
-				skillDataMap.putAll(cachedData);
+				mergeSkillData(prepareStoredData(cachedData.getSkillData()));
+				revisionMap.putAll(cachedData.getRevisions());
+				stringPool.clear();
 				initialized = true;
+				
+				if (cacheManager.isCacheExpired(cacheExpiryHours))
+				{
+					// Cached data is shown meanwhile, so the check runs in the background
+					log.info("Skill data cache expired, checking wiki for changed pages");
+					executorService.execute(this::refreshChangedSkills);
+				}
+				else
+				{
+					log.info("Loaded skill data from cache");
+				}
 				return;
 			}
 		}
 		
-		log.info("Fetching skill data from wiki");
-		fetchAllSkillData();
+		// Skills the panel asks for are moved ahead of the backfill as they are requested
+		log.info("Scheduling skill data fetch from wiki");
+		if (initialSkill != null)
+		{
+			fetchScheduler.schedule(initialSkill, SkillFetchScheduler.Priority.SELECTED);
+		}
+		
+		// The selected skill may already be fetching, and skills loading or loaded need no second fetch
+		List<Skill> backfill = new ArrayList<>();
+		for (Skill skill : getWikiSkills())
+		{
+			if (skill != initialSkill && !inFlight.containsKey(skill) && (forceRefresh || !skillDataMap.containsKey(skill)))
+			{
+				backfill.add(skill);
+			}
+		}
+		fetchScheduler.scheduleBackground(backfill);
 	}
 	
+	/**
+	 * Refresh skill data from the wiki
+	 * 
+	 * Only pages whose revision changed since they were last fetched are downloaded,
+	 * and of those only the levels whose wikitext changed are reparsed. Falls back to a full refresh when no revisions are known.
+	 */
 	public void refreshData()
 	{
-		log.info("Forcing refresh of all skill data");
-		cacheManager.clearCache();
-		skillDataMap.clear();
-		fetchAllSkillData();
+		if (skillDataMap.isEmpty() || revisionMap.isEmpty())
+		{
+			log.info("Forcing refresh of all skill data");
+			cacheManager.clearCache();
+			clearSkillData();
+			revisionMap.clear();
+			fetchSkillData(getWikiSkills());
+			return;
+		}
+		
+		refreshChangedSkills();
 	}
 	
-	@SuppressWarnings("deprecation")
-	private void fetchAllSkillData()
+	/**
+	 * Compares the cached page revisions with the wiki using a metadata-only query
+	 * and refetches the pages that have been edited since.
+	 */
+	private void refreshChangedSkills()
 	{
-		List<CompletableFuture<Void>> futures = new ArrayList<>();
+		List<Skill> skills = getWikiSkills();
+		Map<Skill, PageRevision> latestRevisions;
+		try
+		{
+			latestRevisions = wikiApiClient.fetchRevisions(skills);
+		}
+		catch (IOException e)
+		{
+			log.error("Failed to check wiki page revisions, keeping cached data", e);
+			return;
+		}
 		
+		if (latestRevisions.isEmpty())
+		{
+			log.warn("No wiki page revisions resolved, keeping cached data");
+			return;
+		}
+		
+		List<Skill> changedSkills = new ArrayList<>();
+		for (Skill skill : skills)
+		{
+			PageRevision cached = revisionMap.get(skill);
+			PageRevision latest = latestRevisions.get(skill);
+			if (!skillDataMap.containsKey(skill) || cached == null || latest == null
+				|| cached.getRevisionId() != latest.getRevisionId())
+			{
+				changedSkills.add(skill);
+			}
+		}
+		
+		if (changedSkills.isEmpty())
+		{
+			log.info("All {} wiki pages unchanged since last fetch", skills.size());
+			// Re-save so the cache expiry is measured from this check
+			cacheManager.saveSkillData(skillDataMap, revisionMap);
+			return;
+		}
+		
+		log.info("{} of {} wiki pages changed: {}", changedSkills.size(), skills.size(), changedSkills);
+		fetchSkillData(changedSkills);
+	}
+	
+	@SuppressWarnings("deprecation")
+	private List<Skill> getWikiSkills()
+	{
+		List<Skill> skills = new ArrayList<>();
 		for (Skill skill : Skill.values())
 		{
-			if (skill == Skill.OVERALL)
+			if (skill != Skill.OVERALL) // Skip overall as it doesn't have unlocks
 			{
-				continue; // Skip overall as it doesn't have unlocks
+				skills.add(skill);
 			}
-			
-			CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
-				try
+		}
+		return skills;
+	}
+	
+	private void fetchSkillData(List<Skill> skills)
+	{
+		// Register a load for every skill not already loading, attach to the rest
+		Map<Skill, CompletableFuture<SkillData>> ownedLoads = new EnumMap<>(Skill.class);
+		List<CompletableFuture<SkillData>> futures = new ArrayList<>();
+		for (Skill skill : skills)
+		{
+			CompletableFuture<SkillData> load = new CompletableFuture<>();
+			CompletableFuture<SkillData> existing = inFlight.putIfAbsent(skill, load);
+			if (existing != null)
+			{
+				log.debug("Joining in-flight load for {}", skill);
+				futures.add(existing);
+				continue;
+			}
+			ownedLoads.put(skill, load);
+			futures.add(load);
+		}
+		
+		if (!ownedLoads.isEmpty())
+		{
+			// Fetch every Level_up_table page with as few multi-title queries as possible
+			try
+			{
+				Map<Skill, SkillData> batchedData = wikiApiClient.fetchSkillData(new ArrayList<>(ownedLoads.keySet()), revisionMap,
+					skillDataMap);
+				Map<Skill, SkillData> usable = new EnumMap<>(Skill.class);
+				for (Map.Entry<Skill, SkillData> entry : batchedData.entrySet())
 				{
-					SkillData data = wikiApiClient.fetchSkillData(skill);
-					if (data != null && !data.getAllUnlocks().isEmpty())
+					if (entry.getValue().getUnlockCount() > 0)
 					{
-						skillDataMap.put(skill, data);
-						log.info("Fetched {} unlocks for {}", data.getAllUnlocks().size(), skill);
+						usable.put(entry.getKey(), entry.getValue());
 					}
 				}
-				catch (IOException e)
+				
+				// The whole batch becomes visible at once, then its waiters are released
+				mergeSkillData(usable);
+				for (Map.Entry<Skill, SkillData> entry : usable.entrySet())
 				{
-					log.error("Failed to fetch data for skill: {}", skill, e);
+					log.info("Fetched {} unlocks for {}", entry.getValue().getUnlockCount(), entry.getKey());
+					releaseLoad(entry.getKey(), ownedLoads.remove(entry.getKey()), entry.getValue());
 				}
-			}, executorService);
+			}
+			catch (IOException | RuntimeException e)
+			{
+				// Any failure leaves the unreleased loads to the fallback, or they would stay in flight forever
+				log.error("Failed to batch fetch skill data, falling back to per-skill fetches", e);
+			}
 			
-			futures.add(future);
+			// Fall back to individual fetches for anything the batch did not resolve
+			for (Map.Entry<Skill, CompletableFuture<SkillData>> entry : ownedLoads.entrySet())
+			{
+				startSingleFetch(entry.getKey(), entry.getValue());
+			}
 		}
 		
 		// Wait for all fetches to complete
-		CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+		log.info("Wiki HTTP cache: {}", wikiApiClient.getCacheStats());
+		// The loaded data holds its strings now, the pool would only keep them alive
+		stringPool.clear();
 		
 		// Save to cache
 		if (!skillDataMap.isEmpty())
 		{
-			cacheManager.saveSkillData(skillDataMap);
+			cacheManager.saveSkillData(skillDataMap, revisionMap);
 			initialized = true;
 		}
 	}
 	
+	public CompletableFuture<SkillData> loadSkillData(Skill skill)
+	{
+		return loadSkillData(skill, SkillFetchScheduler.Priority.SELECTED);
+	}
+	
+	/**
+	 * Loads the data of a single skill without blocking the caller.
+	 * If the skill is already being fetched, by this method or by a batch refresh,
+	 * the returned future is the one of that fetch, so the wiki is asked at most
+	 * once per skill regardless of how many callers are waiting. Otherwise the
+	 * skill is queued ahead of any background fetches of lower priority.
+	 * 
+	 * @param skill The skill to load
+	 * @param priority How urgently the skill is needed
+	 * @return A future with the skill data, null if it could not be fetched
+	 */
+	public CompletableFuture<SkillData> loadSkillData(Skill skill, SkillFetchScheduler.Priority priority)
+	{
+		CompletableFuture<SkillData> existing = inFlight.get(skill);
+		if (existing != null)
+		{
+			return existing;
+		}
+		
+		// Loads store their data before releasing the in-flight slot, so this sees any that just finished
+		SkillData cached = skillDataMap.get(skill);
+		if (cached != null && cached.getUnlockCount() > 0)
+		{
+			return CompletableFuture.completedFuture(cached);
+		}
+		
+		return fetchScheduler.schedule(skill, priority).thenApply(ignored -> {
+			SkillData data = skillDataMap.get(skill);
+			return data != null && data.getUnlockCount() > 0 ? data : null;
+		});
+	}
+	
+	private void startSingleFetch(Skill skill, CompletableFuture<SkillData> load)
+	{
+		try
+		{
+			wikiApiClient.fetchSkillDataAsync(skill, revisionMap, executorService)
+				.whenComplete((data, e) -> {
+					if (e != null)
+					{
+						log.error("Failed to fetch data for skill: {}", skill, e);
+					}
+					completeLoad(skill, load, e == null ? data : null);
+				});
+		}
+		catch (RuntimeException e)
+		{
+			log.error("Failed to start fetch for skill: {}", skill, e);
+			releaseLoad(skill, load, null);
+		}
+	}
+	
+	/**
+	 * Publishes the result of a load and releases its in-flight slot.
+	 * Empty results are not stored, so the next request for the skill tries again.
+	 */
+	private void completeLoad(Skill skill, CompletableFuture<SkillData> load, SkillData data)
+	{
+		SkillData result = data != null && data.getUnlockCount() > 0 ? data : null;
+		try
+		{
+			if (result != null)
+			{
+				mergeSkillData(Collections.singletonMap(skill, result));
+				log.info("Fetched {} unlocks for {}", result.getUnlockCount(), skill);
+			}
+		}
+		finally
+		{
+			// Waiters are released even if publishing failed, so the skill can be requested again
+			releaseLoad(skill, load, result);
+		}
+	}
+	
+	/**
+	 * Brings data stored by an older version of the plugin up to what the parser produces now.
+	 */
+	private Map<Skill, SkillData> prepareStoredData(Map<Skill, SkillData> storedData)
+	{
+		return RequirementParser.parseMissing(unlockTypeClassifier.reclassify(storedData));
+	}
+	
+	private void releaseLoad(Skill skill, CompletableFuture<SkillData> load, SkillData result)
+	{
+		inFlight.remove(skill, load);
+		load.complete(result);
+	}
+	
+	/**
+	 * Publishes new skill data by swapping in an updated copy of the map,
+	 * so a reader never sees part of a merge.
+	 */
+	private synchronized void mergeSkillData(Map<Skill, SkillData> data)
+	{
+		if (data.isEmpty())
+		{
+			return;
+		}
+		Map<Skill, SkillData> merged = new EnumMap<>(Skill.class);
+		merged.putAll(skillDataMap);
+		merged.putAll(data);
+		skillDataMap = Collections.unmodifiableMap(merged);
+		// Only the merged skills are indexed again, the others keep their part of the index
+		searchIndex = searchIndex.withSkillData(data);
+		for (Map.Entry<Skill, SkillData> entry : data.entrySet())
+		{
+			upcomingUnlocks.setSkillData(entry.getKey(), entry.getValue());
+		}
+	}
+	
+	private synchronized void clearSkillData()
+	{
+		skillDataMap = Collections.emptyMap();
+		searchIndex = UnlockSearchIndex.EMPTY;
+		upcomingUnlocks.clear();
+	}
+	
 	public SkillData getSkillData(Skill skill)
 	{
 		return skillDataMap.get(skill);
 	}
 	
+	/**
+	 * @return The unlocks coming up across all loaded skills, to be kept at the player's levels
+	 *         with {@link UpcomingUnlocks#updateSkill}
+	 */
+	public UpcomingUnlocks getUpcomingUnlocks()
+	{
+		return upcomingUnlocks;
+	}
+	
+	/**
+	 * @return The search index over the unlocks of every loaded skill
+	 */
+	public UnlockSearchIndex getSearchIndex()
+	{
+		return searchIndex;
+	}
+	
 	
 	
 	
 	
 	public void shutdown()
 	{
+		fetchScheduler.shutdown();
+		wikiApiClient.shutdown();
 		executorService.shutdown();
 		cacheManager.shutdown();
+		stringPool.clear();
 	}
 }
\ No newline at end of file
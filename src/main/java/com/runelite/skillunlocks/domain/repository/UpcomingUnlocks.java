@@ -0,0 +1,169 @@
+package com.runelite.skillunlocks.domain.repository;
+
+import com.runelite.skillunlocks.domain.model.SkillData;
+import com.runelite.skillunlocks.domain.model.SkillUnlock;
+import com.runelite.skillunlocks.domain.model.UpcomingUnlock;
+import net.runelite.api.Experience;
+import net.runelite.api.Skill;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * The unlocks the player reaches next across all skills
+ * 
+ * Keeps, for every skill, the offset of the first unlock above the player's
+ * level. Queries merge the skills from those offsets ordered by the experience
+ * still needed, so only the unlocks returned are looked at. A level change or
+ * new data for one skill only moves that skill's offset.
+ */
+public class UpcomingUnlocks
+{
+	private final SkillData[] skillData = new SkillData[Skill.values().length];
+	private final int[] levels = new int[Skill.values().length];
+	private final int[] experience = new int[Skill.values().length];
+	// Offset of the first unlock above the player's level in each skill's data
+	private final int[] cursors = new int[Skill.values().length];
+	
+	public UpcomingUnlocks()
+	{
+		Arrays.fill(levels, 1);
+	}
+	
+	/**
+	 * Replaces the data of one skill, null removes the skill from queries
+	 */
+	public synchronized void setSkillData(Skill skill, SkillData data)
+	{
+		skillData[skill.ordinal()] = data;
+		updateCursor(skill.ordinal());
+	}
+	
+	/**
+	 * Moves one skill to the player's current level and experience
+	 */
+	public synchronized void updateSkill(Skill skill, int level, int xp)
+	{
+		int index = skill.ordinal();
+		levels[index] = level;
+		experience[index] = Math.max(xp, xpForLevel(level));
+		updateCursor(index);
+	}
+	
+	/**
+	 * Removes the data of every skill, the player's levels are kept
+	 */
+	public synchronized void clear()
+	{
+		Arrays.fill(skillData, null);
+		Arrays.fill(cursors, 0);
+	}
+	
+	/**
+	 * @return The nearest unlocks across all skills, ordered by the experience still needed
+	 */
+	public List<UpcomingUnlock> getUpcoming(int limit)
+	{
+		return getUpcoming(limit, Integer.MAX_VALUE);
+	}
+	
+	/**
+	 * @param limit The maximum number of unlocks returned
+	 * @param maxLevelsAhead How many levels above the player's level an unlock may be, in its own skill
+	 * @return The nearest unlocks across all skills, ordered by the experience still needed
+	 */
+	public synchronized List<UpcomingUnlock> getUpcoming(int limit, int maxLevelsAhead)
+	{
+		if (limit <= 0)
+		{
+			return Collections.emptyList();
+		}
+		
+		PriorityQueue<Head> heads = new PriorityQueue<>();
+		for (int index = 0; index < skillData.length; index++)
+		{
+			Head head = head(index, cursors[index], maxLevelsAhead);
+			if (head != null)
+			{
+				heads.add(head);
+			}
+		}
+		
+		List<UpcomingUnlock> upcoming = new ArrayList<>(Math.min(limit, 64));
+		while (upcoming.size() < limit && !heads.isEmpty())
+		{
+			Head head = heads.poll();
+			SkillData data = skillData[head.skillIndex];
+			upcoming.add(UpcomingUnlock.builder()
+				.skill(data.getSkill())
+				.unlock(data.getAllUnlocks().get(head.unlockIndex))
+				.xpRemaining(head.xpRemaining)
+				.build());
+			
+			Head next = head(head.skillIndex, head.unlockIndex + 1, maxLevelsAhead);
+			if (next != null)
+			{
+				heads.add(next);
+			}
+		}
+		return upcoming;
+	}
+	
+	private void updateCursor(int index)
+	{
+		SkillData data = skillData[index];
+		cursors[index] = data != null ? data.getUnlockCountUpToLevel(levels[index]) : 0;
+	}
+	
+	private Head head(int skillIndex, int unlockIndex, int maxLevelsAhead)
+	{
+		SkillData data = skillData[skillIndex];
+		if (data == null || unlockIndex >= data.getUnlockCount())
+		{
+			return null;
+		}
+		
+		SkillUnlock unlock = data.getAllUnlocks().get(unlockIndex);
+		// Unlocks are sorted by level, so the rest of the skill is out of range as well
+		if ((long) unlock.getLevel() - levels[skillIndex] > maxLevelsAhead)
+		{
+			return null;
+		}
+		int xpRemaining = Math.max(0, xpForLevel(unlock.getLevel()) - experience[skillIndex]);
+		return new Head(skillIndex, unlockIndex, xpRemaining);
+	}
+	
+	private static int xpForLevel(int level)
+	{
+		return Experience.getXpForLevel(Math.max(1, Math.min(level, Experience.MAX_VIRT_LEVEL)));
+	}
+	
+	/**
+	 * The nearest unlock of one skill not returned yet
+	 */
+	private static final class Head implements Comparable<Head>
+	{
+		private final int skillIndex;
+		private final int unlockIndex;
+		private final int xpRemaining;
+		
+		private Head(int skillIndex, int unlockIndex, int xpRemaining)
+		{
+			this.skillIndex = skillIndex;
+			this.unlockIndex = unlockIndex;
+			this.xpRemaining = xpRemaining;
+		}
+		
+		@Override
+		public int compareTo(Head other)
+		{
+			if (xpRemaining != other.xpRemaining)
+			{
+				return Integer.compare(xpRemaining, other.xpRemaining);
+			}
+			return Integer.compare(skillIndex, other.skillIndex);
+		}
+	}
+}
@@ -0,0 +1,247 @@
+package com.runelite.skillunlocks.service.parser;
+
+/**
+ * Single-pass cursor over the parameters of a Level up table template.
+ * Walks the template body once, tracking template and link nesting so pipes
+ * inside {{...}} and [[...]] never end a parameter, and exposes each
+ * freeplayN/membersN/freeplayall/membersall parameter as offsets into the
+ * source text without copying it.
+ *
+ * A parameter starting on a new line is always accepted, even inside an
+ * unbalanced template, so one malformed entry cannot swallow the rest of the table.
+ */
+final class LevelUpTableTokenizer
+{
+	/**
+	 * Level reported for freeplayall/membersall parameters
+	 */
+	static final int ALL_LEVELS = -1;
+	
+	private static final String FREEPLAY = "freeplay";
+	private static final String MEMBERS = "members";
+	private static final String ALL = "all";
+	// Longest level number accepted in a parameter name, keeps the parsed value in int range
+	private static final int MAX_LEVEL_DIGITS = 4;
+	
+	private final CharSequence text;
+	private final int end;
+	private int cursor;
+	
+	// Last header recognised by matchHeader, which also runs as lookahead for the end of a body
+	private boolean matchedMembers;
+	private int matchedLevel;
+	private int matchedEnd;
+	
+	private boolean members;
+	private int level;
+	private int bodyStart;
+	private int bodyEnd;
+	
+	LevelUpTableTokenizer(CharSequence text)
+	{
+		this(text, 0, text.length());
+	}
+	
+	LevelUpTableTokenizer(CharSequence text, int start, int end)
+	{
+		this.text = text;
+		this.cursor = start;
+		this.end = end;
+	}
+	
+	/**
+	 * Advances to the next parameter.
+	 *
+	 * @return false once the table has no more parameters
+	 */
+	boolean next()
+	{
+		while (cursor < end)
+		{
+			if (matchHeader(cursor))
+			{
+				members = matchedMembers;
+				level = matchedLevel;
+				bodyStart = matchedEnd;
+				bodyEnd = findBodyEnd(bodyStart);
+				// The next header starts right after the pipe that ended this body
+				cursor = bodyEnd + 1;
+				return true;
+			}
+			
+			// Text before the first parameter, skip to the next top-level pipe
+			cursor = findBodyEnd(cursor) + 1;
+		}
+		return false;
+	}
+	
+	boolean isMembers()
+	{
+		return members;
+	}
+	
+	/**
+	 * @return The level of the current parameter, or {@link #ALL_LEVELS}
+	 */
+	int getLevel()
+	{
+		return level;
+	}
+	
+	/**
+	 * @return Offset of the first character after the '=' of the current parameter
+	 */
+	int getBodyStart()
+	{
+		return bodyStart;
+	}
+	
+	/**
+	 * @return Offset just past the last character of the current parameter's value
+	 */
+	int getBodyEnd()
+	{
+		return bodyEnd;
+	}
+	
+	/**
+	 * Finds the pipe that starts the next parameter, or the end of the text.
+	 */
+	private int findBodyEnd(int from)
+	{
+		int templateDepth = 0;
+		int linkDepth = 0;
+		
+		int i = from;
+		while (i < end)
+		{
+			char c = text.charAt(i);
+			char next = i + 1 < end ? text.charAt(i + 1) : '\0';
+			
+			if (c == '{' && next == '{')
+			{
+				templateDepth++;
+				i += 2;
+				continue;
+			}
+			if (c == '}' && next == '}' && templateDepth > 0)
+			{
+				templateDepth--;
+				i += 2;
+				continue;
+			}
+			if (c == '[' && next == '[')
+			{
+				linkDepth++;
+				i += 2;
+				continue;
+			}
+			if (c == ']' && next == ']' && linkDepth > 0)
+			{
+				linkDepth--;
+				i += 2;
+				continue;
+			}
+			
+			if (c == '|')
+			{
+				boolean topLevel = templateDepth == 0 && linkDepth == 0;
+				boolean lineStart = i > from && text.charAt(i - 1) == '\n';
+				if ((topLevel || lineStart) && matchHeader(i + 1))
+				{
+					return i;
+				}
+			}
+			i++;
+		}
+		return end;
+	}
+	
+	/**
+	 * Matches {@code \s*(freeplay|members)(\d+|all)\s*=} at the given offset and,
+	 * on success, records the member type, level and end of the header.
+	 */
+	private boolean matchHeader(int from)
+	{
+		int i = skipWhitespace(from);
+		
+		boolean isMembers;
+		if (regionMatches(i, FREEPLAY))
+		{
+			isMembers = false;
+			i += FREEPLAY.length();
+		}
+		else if (regionMatches(i, MEMBERS))
+		{
+			isMembers = true;
+			i += MEMBERS.length();
+		}
+		else
+		{
+			return false;
+		}
+		
+		int parsedLevel;
+		if (regionMatches(i, ALL))
+		{
+			parsedLevel = ALL_LEVELS;
+			i += ALL.length();
+		}
+		else
+		{
+			int digitsStart = i;
+			parsedLevel = 0;
+			while (i < end && i - digitsStart < MAX_LEVEL_DIGITS && isDigit(text.charAt(i)))
+			{
+				parsedLevel = parsedLevel * 10 + (text.charAt(i) - '0');
+				i++;
+			}
+			if (i == digitsStart || (i < end && isDigit(text.charAt(i))))
+			{
+				return false;
+			}
+		}
+		
+		i = skipWhitespace(i);
+		if (i >= end || text.charAt(i) != '=')
+		{
+			return false;
+		}
+		
+		matchedMembers = isMembers;
+		matchedLevel = parsedLevel;
+		matchedEnd = i + 1;
+		return true;
+	}
+	
+	private int skipWhitespace(int from)
+	{
+		int i = from;
+		while (i < end && Character.isWhitespace(text.charAt(i)))
+		{
+			i++;
+		}
+		return i;
+	}
+	
+	private boolean regionMatches(int from, String expected)
+	{
+		if (from + expected.length() > end)
+		{
+			return false;
+		}
+		for (int i = 0; i < expected.length(); i++)
+		{
+			if (text.charAt(from + i) != expected.charAt(i))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	private static boolean isDigit(char c)
+	{
+		return c >= '0' && c <= '9';
+	}
+}
@@ -0,0 +1,278 @@
+package com.runelite.skillunlocks.service.parser;
+
+import com.runelite.skillunlocks.domain.model.SkillData;
+import com.runelite.skillunlocks.domain.model.SkillUnlock;
+import com.runelite.skillunlocks.domain.model.UnlockRequirement;
+import com.runelite.skillunlocks.util.StringPool;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Skill;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses the cleaned requirement text of an unlock into typed entries.
+ * Entries are separated by commas. An entry naming a skill next to a level,
+ * "Defence 5" or "99 Magic", is a skill requirement; one mentioning a quest,
+ * "Quest Demon Slayer completed", a quest requirement; anything else is kept
+ * as text only.
+ *
+ * Requirement text is a single cleaned line; every step runs in time linear in it.
+ */
+@Slf4j
+public final class RequirementParser
+{
+	private static final Map<String, Skill> SKILLS_BY_NAME = new HashMap<>();
+	private static final Pattern SKILL_LEVEL_PATTERN;
+	private static final String QUEST = "Quest";
+	private static final String[] QUEST_PROGRESS = {"completed", "started"};
+	
+	static
+	{
+		StringBuilder names = new StringBuilder();
+		for (Skill skill : Skill.values())
+		{
+			@SuppressWarnings("deprecation")
+			boolean overall = skill == Skill.OVERALL;
+			if (overall)
+			{
+				continue;
+			}
+			SKILLS_BY_NAME.put(skill.getName(), skill);
+			names.append(names.length() > 0 ? "|" : "").append(Pattern.quote(skill.getName()));
+		}
+		// Skill before or after the level, whichever the wiki used
+		SKILL_LEVEL_PATTERN = Pattern.compile("\\b(?:(" + names + ")\\s+(\\d{1,2})|(\\d{1,2})\\s+(" + names + "))\\b");
+	}
+	
+	private RequirementParser() {}
+	
+	/**
+	 * @param requirements Cleaned requirement text, may be empty
+	 * @return The requirement entries in the order they were written
+	 */
+	public static List<UnlockRequirement> parse(String requirements)
+	{
+		return parse(requirements, new StringPool());
+	}
+	
+	/**
+	 * @param requirements Cleaned requirement text, may be empty
+	 * @param stringPool Pool the entry texts and quest names are shared through
+	 * @return The requirement entries in the order they were written
+	 */
+	public static List<UnlockRequirement> parse(String requirements, StringPool stringPool)
+	{
+		if (requirements == null || requirements.isEmpty())
+		{
+			return Collections.emptyList();
+		}
+		
+		List<UnlockRequirement> entries = new ArrayList<>();
+		for (int start = 0; start <= requirements.length(); )
+		{
+			int comma = requirements.indexOf(',', start);
+			int end = comma < 0 ? requirements.length() : comma;
+			
+			// Same trimming as String.trim
+			int textStart = start;
+			int textEnd = end;
+			while (textStart < textEnd && requirements.charAt(textStart) <= ' ')
+			{
+				textStart++;
+			}
+			while (textEnd > textStart && requirements.charAt(textEnd - 1) <= ' ')
+			{
+				textEnd--;
+			}
+			if (textStart < textEnd)
+			{
+				entries.add(parseEntry(stringPool.intern(requirements, textStart, textEnd), stringPool));
+			}
+			start = end + 1;
+		}
+		return entries;
+	}
+	
+	private static UnlockRequirement parseEntry(String text, StringPool stringPool)
+	{
+		Matcher skillMatcher = SKILL_LEVEL_PATTERN.matcher(text);
+		if (skillMatcher.find())
+		{
+			boolean skillFirst = skillMatcher.group(1) != null;
+			return UnlockRequirement.builder()
+				.type(UnlockRequirement.Type.SKILL)
+				.text(text)
+				.skill(SKILLS_BY_NAME.get(skillMatcher.group(skillFirst ? 1 : 4)))
+				.level(Integer.parseInt(skillMatcher.group(skillFirst ? 2 : 3)))
+				.build();
+		}
+		
+		String quest = findQuestName(text);
+		if (quest != null)
+		{
+			return UnlockRequirement.builder()
+				.type(UnlockRequirement.Type.QUEST)
+				.text(text)
+				.quest(stringPool.intern(quest))
+				.build();
+		}
+		
+		return UnlockRequirement.builder()
+			.type(UnlockRequirement.Type.OTHER)
+			.text(text)
+			.build();
+	}
+	
+	/**
+	 * Finds the quest named after the word "Quest", up to a trailing
+	 * "completed" or "started", e.g. "Quest Demon Slayer completed" gives "Demon Slayer".
+	 *
+	 * @return The quest name, or null if the text does not name a quest
+	 */
+	static String findQuestName(String text)
+	{
+		for (int start = text.indexOf(QUEST); start >= 0; start = text.indexOf(QUEST, start + 1))
+		{
+			if (start > 0 && isWordChar(text.charAt(start - 1)))
+			{
+				continue;
+			}
+			
+			int separatorStart = start + QUEST.length();
+			int nameStart = skipWhitespace(text, separatorStart);
+			if (nameStart == separatorStart)
+			{
+				continue;
+			}
+			if (nameStart == text.length())
+			{
+				// Nothing but whitespace follows, the name is its last character
+				if (nameStart - separatorStart > 1)
+				{
+					return text.substring(text.length() - 1);
+				}
+				continue;
+			}
+			
+			// The name ends at the first whitespace run followed by a progress word
+			int i = nameStart + 1;
+			while (i < text.length())
+			{
+				if (!isWhitespace(text.charAt(i)))
+				{
+					i++;
+					continue;
+				}
+				
+				int wordStart = skipWhitespace(text, i);
+				if (isProgressWord(text, wordStart))
+				{
+					return text.substring(nameStart, i);
+				}
+				i = wordStart;
+			}
+			return text.substring(nameStart);
+		}
+		return null;
+	}
+	
+	private static boolean isProgressWord(String text, int from)
+	{
+		for (String word : QUEST_PROGRESS)
+		{
+			int end = from + word.length();
+			if (text.startsWith(word, from) && (end == text.length() || !isWordChar(text.charAt(end))))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	private static int skipWhitespace(String text, int from)
+	{
+		int i = from;
+		while (i < text.length() && isWhitespace(text.charAt(i)))
+		{
+			i++;
+		}
+		return i;
+	}
+	
+	// Same characters as \s in java.util.regex
+	private static boolean isWhitespace(char c)
+	{
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+	}
+	
+	// Same characters as \w in java.util.regex
+	private static boolean isWordChar(char c)
+	{
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+	}
+	
+	/**
+	 * Parses the requirements of cached unlocks stored before requirements were parsed.
+	 *
+	 * @param skillData Skill data keyed by skill
+	 * @return The same data, skills whose unlocks all have parsed requirements are kept as they are
+	 */
+	public static Map<Skill, SkillData> parseMissing(Map<Skill, SkillData> skillData)
+	{
+		Map<Skill, SkillData> result = new EnumMap<>(Skill.class);
+		int parsed = 0;
+		StringPool stringPool = new StringPool();
+		for (Map.Entry<Skill, SkillData> entry : skillData.entrySet())
+		{
+			SkillData data = entry.getValue();
+			List<SkillUnlock> unlocks = data.getAllUnlocks();
+			boolean missing = false;
+			for (SkillUnlock unlock : unlocks)
+			{
+				if (isMissingEntries(unlock))
+				{
+					missing = true;
+					break;
+				}
+			}
+			
+			if (missing)
+			{
+				SkillData.SkillDataBuilder copy = SkillData.builder()
+					.skill(data.getSkill())
+					.lastUpdated(data.getLastUpdated())
+					.levelHashes(data.getLevelHashes());
+				for (SkillUnlock unlock : unlocks)
+				{
+					if (isMissingEntries(unlock))
+					{
+						unlock = unlock.toBuilder().requirementEntries(parse(unlock.getRequirements(), stringPool)).build();
+						parsed++;
+					}
+					copy.unlock(unlock);
+				}
+				data = copy.build();
+			}
+			result.put(entry.getKey(), data);
+		}
+		
+		if (parsed > 0)
+		{
+			log.info("Parsed requirements of {} cached unlocks", parsed);
+		}
+		return result;
+	}
+	
+	private static boolean isMissingEntries(SkillUnlock unlock)
+	{
+		return unlock.getRequirementEntries().isEmpty()
+			&& unlock.getRequirements() != null && !unlock.getRequirements().isEmpty();
+	}
+}
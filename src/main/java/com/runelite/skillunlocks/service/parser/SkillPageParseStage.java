@@ -0,0 +1,187 @@
+package com.runelite.skillunlocks.service.parser;
+
+import com.runelite.skillunlocks.domain.model.SkillData;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Skill;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses the wikitext of several skill pages concurrently.
+ * Pages are split over a ForkJoin pool with one worker per core, each page
+ * is parsed by a single task and written to its own result slot, so workers
+ * never share state. Per-page parse times are logged at debug level and a
+ * summary of the whole batch at info level.
+ */
+@Slf4j
+public class SkillPageParseStage
+{
+	private final WikiTextParser parser;
+	private final ForkJoinPool pool;
+	
+	public SkillPageParseStage(WikiTextParser parser)
+	{
+		this(parser, Runtime.getRuntime().availableProcessors());
+	}
+	
+	public SkillPageParseStage(WikiTextParser parser, int parallelism)
+	{
+		this.parser = parser;
+		this.pool = new ForkJoinPool(parallelism, pool -> {
+			ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+			thread.setName("skill-page-parser-" + thread.getPoolIndex());
+			return thread;
+		}, null, false);
+	}
+	
+	/**
+	 * Parses every page and returns once all of them are done.
+	 *
+	 * @param wikiTexts Raw Level up table wikitext keyed by skill
+	 * @return Parsed data keyed by skill, pages that failed to parse are left out
+	 */
+	public Map<Skill, SkillData> parseAll(Map<Skill, String> wikiTexts)
+	{
+		return parseAll(wikiTexts, Collections.emptyMap());
+	}
+	
+	/**
+	 * Parses every page and returns once all of them are done, reparsing only
+	 * the levels that changed since the previous data of a skill.
+	 *
+	 * @param wikiTexts Raw Level up table wikitext keyed by skill
+	 * @param previous The data currently held for each skill, skills without any are parsed in full
+	 * @return Parsed data keyed by skill, pages that failed to parse are left out
+	 */
+	public Map<Skill, SkillData> parseAll(Map<Skill, String> wikiTexts, Map<Skill, SkillData> previous)
+	{
+		int count = wikiTexts.size();
+		Skill[] skills = wikiTexts.keySet().toArray(new Skill[0]);
+		String[] texts = new String[count];
+		SkillData[] previousData = new SkillData[count];
+		for (int i = 0; i < count; i++)
+		{
+			texts[i] = wikiTexts.get(skills[i]);
+			previousData[i] = previous.get(skills[i]);
+		}
+		SkillData[] results = new SkillData[count];
+		long[] parseNanos = new long[count];
+		
+		long start = System.nanoTime();
+		ParseTask task = new ParseTask(parser, skills, texts, previousData, results, parseNanos, 0, count);
+		if (count > 1)
+		{
+			pool.invoke(task);
+		}
+		else
+		{
+			// Nothing to fan out, skip the handoff to the pool
+			task.compute();
+		}
+		long elapsed = System.nanoTime() - start;
+		
+		Map<Skill, SkillData> parsed = new EnumMap<>(Skill.class);
+		long totalParseNanos = 0;
+		int slowest = -1;
+		for (int i = 0; i < count; i++)
+		{
+			totalParseNanos += parseNanos[i];
+			if (slowest < 0 || parseNanos[i] > parseNanos[slowest])
+			{
+				slowest = i;
+			}
+			if (results[i] != null)
+			{
+				parsed.put(skills[i], results[i]);
+			}
+		}
+		
+		if (slowest >= 0)
+		{
+			log.info("Parsed {} pages in {} ms on {} threads ({} ms of parse time, slowest {} at {} ms)",
+				count, TimeUnit.NANOSECONDS.toMillis(elapsed), pool.getParallelism(),
+				TimeUnit.NANOSECONDS.toMillis(totalParseNanos), skills[slowest],
+				TimeUnit.NANOSECONDS.toMillis(parseNanos[slowest]));
+		}
+		return parsed;
+	}
+	
+	public void shutdown()
+	{
+		pool.shutdown();
+	}
+	
+	/**
+	 * Halves its range of pages until a single page is left, then parses it.
+	 */
+	private static final class ParseTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+		
+		private final WikiTextParser parser;
+		private final Skill[] skills;
+		private final String[] texts;
+		private final SkillData[] previousData;
+		private final SkillData[] results;
+		private final long[] parseNanos;
+		private final int from;
+		private final int to;
+		
+		ParseTask(WikiTextParser parser, Skill[] skills, String[] texts, SkillData[] previousData, SkillData[] results,
+			long[] parseNanos, int from, int to)
+		{
+			this.parser = parser;
+			this.skills = skills;
+			this.texts = texts;
+			this.previousData = previousData;
+			this.results = results;
+			this.parseNanos = parseNanos;
+			this.from = from;
+			this.to = to;
+		}
+		
+		@Override
+		protected void compute()
+		{
+			if (to - from > 1)
+			{
+				int middle = (from + to) >>> 1;
+				invokeAll(new ParseTask(parser, skills, texts, previousData, results, parseNanos, from, middle),
+					new ParseTask(parser, skills, texts, previousData, results, parseNanos, middle, to));
+				return;
+			}
+			
+			if (to > from)
+			{
+				parsePage(from);
+			}
+		}
+		
+		private void parsePage(int index)
+		{
+			long start = System.nanoTime();
+			try
+			{
+				results[index] = parser.parseSkillPage(skills[index], texts[index], previousData[index]);
+			}
+			catch (RuntimeException e)
+			{
+				log.error("Failed to parse wiki page for skill: {}", skills[index], e);
+			}
+			parseNanos[index] = System.nanoTime() - start;
+			
+			if (log.isDebugEnabled())
+			{
+				log.debug("Parsed {} in {} us ({} unlocks)", skills[index],
+					TimeUnit.NANOSECONDS.toMicros(parseNanos[index]),
+					results[index] != null ? results[index].getUnlockCount() : 0);
+			}
+		}
+	}
+}
@@ -0,0 +1,310 @@
+package com.runelite.skillunlocks.service.parser;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import com.runelite.skillunlocks.domain.model.SkillData;
+import com.runelite.skillunlocks.domain.model.SkillUnlock;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Skill;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Classifies unlock text into an {@link SkillUnlock.UnlockType} with one scan.
+ *
+ * Rules are read from a JSON list in precedence order. Each rule names a type,
+ * optionally a skill it is limited to, and its keywords. The keywords of all
+ * rules are compiled into one Aho-Corasick automaton, so a scan of the text
+ * reports every rule with a keyword in it; the first of those that applies to
+ * the skill decides the type. Text matching no rule is {@link SkillUnlock.UnlockType#OTHER}.
+ *
+ * Keywords are matched case-insensitively and must be ASCII.
+ */
+@Slf4j
+public final class UnlockTypeClassifier
+{
+	static final String RULES_RESOURCE = "unlock-type-rules.json";
+	
+	// Rule matches are tracked as bits of a long
+	private static final int MAX_RULES = Long.SIZE;
+	private static final int ALPHABET = 128;
+	
+	private final SkillUnlock.UnlockType[] ruleTypes;
+	// Rules that apply to a skill, indexed by skill ordinal
+	private final long[] applicableRules;
+	// Complete transition table, transitions[state][c] for every ASCII character
+	private final int[][] transitions;
+	// Rules with a keyword ending in a state, including keywords ending at its suffixes
+	private final long[] output;
+	
+	private UnlockTypeClassifier(List<Rule> rules)
+	{
+		if (rules.size() > MAX_RULES)
+		{
+			throw new IllegalArgumentException("At most " + MAX_RULES + " unlock type rules are supported, got " + rules.size());
+		}
+		
+		ruleTypes = new SkillUnlock.UnlockType[rules.size()];
+		applicableRules = new long[Skill.values().length];
+		for (int i = 0; i < rules.size(); i++)
+		{
+			Rule rule = rules.get(i);
+			if (rule.type == null)
+			{
+				throw new IllegalArgumentException("Unlock type rule " + i + " has no type");
+			}
+			ruleTypes[i] = rule.type;
+			Skill ruleSkill = parseSkill(rule.skill, i);
+			for (Skill skill : Skill.values())
+			{
+				if (ruleSkill == null || ruleSkill == skill)
+				{
+					applicableRules[skill.ordinal()] |= 1L << i;
+				}
+			}
+		}
+		
+		// Trie of all keywords
+		List<int[]> trie = new ArrayList<>();
+		List<Long> trieOutput = new ArrayList<>();
+		trie.add(newState());
+		trieOutput.add(0L);
+		for (int i = 0; i < rules.size(); i++)
+		{
+			List<String> keywords = rules.get(i).keywords != null ? rules.get(i).keywords : Collections.emptyList();
+			for (String keyword : keywords)
+			{
+				if (keyword == null || keyword.isEmpty())
+				{
+					throw new IllegalArgumentException("Unlock type rule " + i + " has an empty keyword");
+				}
+				
+				int state = 0;
+				for (int k = 0; k < keyword.length(); k++)
+				{
+					int c = Character.toLowerCase(keyword.charAt(k));
+					if (c >= ALPHABET)
+					{
+						throw new IllegalArgumentException("Unlock type keyword is not ASCII: " + keyword);
+					}
+					if (trie.get(state)[c] < 0)
+					{
+						trie.get(state)[c] = trie.size();
+						trie.add(newState());
+						trieOutput.add(0L);
+					}
+					state = trie.get(state)[c];
+				}
+				trieOutput.set(state, trieOutput.get(state) | 1L << i);
+			}
+		}
+		
+		// Breadth-first pass turning the trie into a complete automaton, missing
+		// transitions follow the failure link and outputs inherit from it
+		transitions = trie.toArray(new int[0][]);
+		output = new long[transitions.length];
+		for (int state = 0; state < output.length; state++)
+		{
+			output[state] = trieOutput.get(state);
+		}
+		
+		int[] failure = new int[transitions.length];
+		Deque<Integer> queue = new ArrayDeque<>();
+		for (int c = 0; c < ALPHABET; c++)
+		{
+			int child = transitions[0][c];
+			if (child < 0)
+			{
+				transitions[0][c] = 0;
+			}
+			else
+			{
+				failure[child] = 0;
+				queue.add(child);
+			}
+		}
+		while (!queue.isEmpty())
+		{
+			int state = queue.poll();
+			output[state] |= output[failure[state]];
+			for (int c = 0; c < ALPHABET; c++)
+			{
+				int child = transitions[state][c];
+				if (child < 0)
+				{
+					transitions[state][c] = transitions[failure[state]][c];
+				}
+				else
+				{
+					failure[child] = transitions[failure[state]][c];
+					queue.add(child);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Loads the rules bundled with the plugin.
+	 *
+	 * @return The classifier, one without rules if the bundled file cannot be read
+	 */
+	public static UnlockTypeClassifier loadDefault()
+	{
+		try (InputStream in = UnlockTypeClassifier.class.getResourceAsStream(RULES_RESOURCE))
+		{
+			if (in == null)
+			{
+				log.error("Unlock type rules {} not found, every unlock will be classified as OTHER", RULES_RESOURCE);
+				return new UnlockTypeClassifier(Collections.emptyList());
+			}
+			return load(new InputStreamReader(in, StandardCharsets.UTF_8));
+		}
+		catch (IOException | JsonParseException | IllegalArgumentException e)
+		{
+			log.error("Failed to load unlock type rules, every unlock will be classified as OTHER", e);
+			return new UnlockTypeClassifier(Collections.emptyList());
+		}
+	}
+	
+	/**
+	 * Compiles rules from a JSON list of {@code {"type", "skill", "keywords"}} objects.
+	 *
+	 * @throws JsonParseException if the JSON is malformed
+	 * @throws IllegalArgumentException if a rule is invalid
+	 */
+	public static UnlockTypeClassifier load(Reader reader)
+	{
+		List<Rule> rules = new Gson().fromJson(reader, new TypeToken<List<Rule>>(){}.getType());
+		return new UnlockTypeClassifier(rules != null ? rules : Collections.emptyList());
+	}
+	
+	/**
+	 * @param text Cleaned unlock text
+	 * @param skill Skill the unlock belongs to
+	 * @return The type of the first applicable rule with a keyword in the text
+	 */
+	public SkillUnlock.UnlockType classify(CharSequence text, Skill skill)
+	{
+		long applicable = applicableRules[skill.ordinal()];
+		if (applicable == 0)
+		{
+			return SkillUnlock.UnlockType.OTHER;
+		}
+		// Nothing can beat the first applicable rule, so the scan stops once it matches
+		long best = Long.lowestOneBit(applicable);
+		
+		long matched = 0;
+		int state = 0;
+		for (int i = 0; i < text.length(); i++)
+		{
+			char c = Character.toLowerCase(text.charAt(i));
+			state = c < ALPHABET ? transitions[state][c] : 0;
+			matched |= output[state] & applicable;
+			if ((matched & best) != 0)
+			{
+				break;
+			}
+		}
+		
+		return matched == 0 ? SkillUnlock.UnlockType.OTHER : ruleTypes[Long.numberOfTrailingZeros(matched)];
+	}
+	
+	/**
+	 * Classifies every unlock of cached data again, so data parsed under older
+	 * rules matches what the parser produces now.
+	 *
+	 * @param skillData Skill data keyed by skill
+	 * @return The same data with reclassified unlocks, skills without changes are kept as they are
+	 */
+	public Map<Skill, SkillData> reclassify(Map<Skill, SkillData> skillData)
+	{
+		Map<Skill, SkillData> result = new EnumMap<>(Skill.class);
+		int changed = 0;
+		for (Map.Entry<Skill, SkillData> entry : skillData.entrySet())
+		{
+			SkillData data = entry.getValue();
+			List<SkillUnlock> unlocks = data.getAllUnlocks();
+			List<SkillUnlock> reclassified = new ArrayList<>(unlocks.size());
+			boolean skillChanged = false;
+			for (SkillUnlock unlock : unlocks)
+			{
+				SkillUnlock.UnlockType type = classify(unlock.getName(), entry.getKey());
+				if (type != unlock.getType())
+				{
+					unlock = unlock.toBuilder().type(type).build();
+					changed++;
+					skillChanged = true;
+				}
+				reclassified.add(unlock);
+			}
+			
+			if (skillChanged)
+			{
+				data = SkillData.builder()
+					.skill(data.getSkill())
+					.lastUpdated(data.getLastUpdated())
+					.levelHashes(data.getLevelHashes())
+					.unlocks(reclassified)
+					.build();
+			}
+			result.put(entry.getKey(), data);
+		}
+		
+		if (changed > 0)
+		{
+			log.info("Reclassified {} cached unlocks", changed);
+		}
+		return result;
+	}
+	
+	private static int[] newState()
+	{
+		int[] state = new int[ALPHABET];
+		Arrays.fill(state, -1);
+		return state;
+	}
+	
+	/**
+	 * @return The skill a rule is limited to, null if it applies to every skill
+	 * @throws IllegalArgumentException if the name is not a skill, which would otherwise apply the rule to every skill
+	 */
+	private static Skill parseSkill(String name, int rule)
+	{
+		if (name == null)
+		{
+			return null;
+		}
+		try
+		{
+			return Skill.valueOf(name);
+		}
+		catch (IllegalArgumentException e)
+		{
+			throw new IllegalArgumentException("Unlock type rule " + rule + " names an unknown skill: " + name, e);
+		}
+	}
+	
+	/**
+	 * One entry of the rules file
+	 */
+	private static class Rule
+	{
+		private SkillUnlock.UnlockType type;
+		// Kept as the name, Gson reads an unknown enum name as null, which means every skill
+		private String skill;
+		private List<String> keywords;
+	}
+}
@@ -0,0 +1,358 @@
+package com.runelite.skillunlocks.service.parser;
+
+/**
+ * Converts the wikitext of one unlock line to display text in a single forward pass.
+ * <ul>
+ *   <li>{@code {{plink|Item|txt=label}}} becomes the txt value, {@code {{plink|Item}}} the item name,
+ *       and a directly following plural "e" or "s" is dropped</li>
+ *   <li>{@code {{SCP|Skill|Level}}} becomes "Skill Level"</li>
+ *   <li>{@code [[Target|label]]} becomes the label, {@code [[Target]]} the target</li>
+ *   <li>Any other template is removed</li>
+ *   <li>Bold and italic quotes are removed and whitespace runs collapse to one space</li>
+ *   <li>A dangling "(with" at the end is removed</li>
+ * </ul>
+ * Output is written to a buffer owned by the cleaner and reused for every line,
+ * so a cleaner must not be shared between threads, and callers copy out only
+ * the parts of a result they keep.
+ *
+ * Runs in time linear in the line length. Searches for a closing bracket or
+ * pipe remember where they ended, so unbalanced openers such as a long run
+ * of "{{" do not rescan the rest of the line each time.
+ */
+final class WikiTextCleaner
+{
+	private static final String PLINK = "plink";
+	private static final String SCP = "SCP";
+	private static final String TXT_PARAM = "txt=";
+	private static final String DANGLING_WITH = "(with";
+	
+	private final StringBuilder out = new StringBuilder(128);
+	private final CharSearch closeBrace = new CharSearch('}');
+	private final CharSearch closeBracket = new CharSearch(']');
+	private final CharSearch pipe = new CharSearch('|');
+	
+	/**
+	 * Cleans a range of wikitext.
+	 *
+	 * @param text Source text
+	 * @param start Offset of the first character of the line
+	 * @param end Offset just past the last character of the line
+	 * @return The display text, trimmed. A view of the cleaner's buffer that is
+	 *         only valid until the next call
+	 */
+	CharSequence clean(CharSequence text, int start, int end)
+	{
+		out.setLength(0);
+		closeBrace.reset();
+		closeBracket.reset();
+		pipe.reset();
+		append(text, start, end);
+		
+		int length = trimmedEnd(0, out.length());
+		if (length >= DANGLING_WITH.length() && endsWith(length, DANGLING_WITH))
+		{
+			length = trimmedEnd(0, length - DANGLING_WITH.length());
+		}
+		
+		out.setLength(length);
+		int first = 0;
+		while (first < length && out.charAt(first) <= ' ')
+		{
+			first++;
+		}
+		out.delete(0, first);
+		return out;
+	}
+	
+	private void append(CharSequence text, int start, int end)
+	{
+		int i = start;
+		while (i < end)
+		{
+			char c = text.charAt(i);
+			char next = i + 1 < end ? text.charAt(i + 1) : '\0';
+			
+			if (c == '{' && next == '{')
+			{
+				int consumed = appendTemplate(text, i, end);
+				if (consumed > 0)
+				{
+					i += consumed;
+					continue;
+				}
+			}
+			else if (c == '[' && next == '[')
+			{
+				int consumed = appendLink(text, i, end);
+				if (consumed > 0)
+				{
+					i += consumed;
+					continue;
+				}
+			}
+			else if (c == '\'' && next == '\'')
+			{
+				// ''' for bold, '' for italic
+				i += i + 2 < end && text.charAt(i + 2) == '\'' ? 3 : 2;
+				continue;
+			}
+			else if (isWhitespace(c))
+			{
+				if (out.length() > 0 && out.charAt(out.length() - 1) != ' ')
+				{
+					out.append(' ');
+				}
+				i++;
+				continue;
+			}
+			
+			out.append(c);
+			i++;
+		}
+	}
+	
+	/**
+	 * Handles a template starting at {@code from}. Templates do not nest, the
+	 * first "}}" closes them.
+	 *
+	 * @return Characters consumed, or 0 if the text is not a template
+	 */
+	private int appendTemplate(CharSequence text, int from, int end)
+	{
+		int bodyStart = from + 2;
+		int close = closeBrace.indexOf(text, bodyStart, end);
+		if (close <= bodyStart || close + 1 >= end || text.charAt(close + 1) != '}')
+		{
+			return 0;
+		}
+		
+		int consumed = close + 2 - from;
+		int nameEnd = findArgumentEnd(text, bodyStart, close);
+		if (nameEnd == close)
+		{
+			// No arguments, nothing worth keeping
+			return consumed;
+		}
+		
+		int firstArgStart = nameEnd + 1;
+		int firstArgEnd = findArgumentEnd(text, firstArgStart, close);
+		if (firstArgEnd == firstArgStart)
+		{
+			return consumed;
+		}
+		
+		if (regionEquals(text, bodyStart, nameEnd, PLINK))
+		{
+			// The last non-empty txt parameter wins, otherwise the page name is shown
+			int labelStart = firstArgStart;
+			int labelEnd = firstArgEnd;
+			int argStart = firstArgEnd + 1;
+			while (argStart <= close)
+			{
+				int argEnd = findArgumentEnd(text, argStart, close);
+				if (argEnd - argStart > TXT_PARAM.length() && regionStartsWith(text, argStart, TXT_PARAM))
+				{
+					labelStart = argStart + TXT_PARAM.length();
+					labelEnd = argEnd;
+				}
+				argStart = argEnd + 1;
+			}
+			append(text, labelStart, labelEnd);
+			
+			int after = close + 2;
+			if (after < end && (text.charAt(after) == 'e' || text.charAt(after) == 's'))
+			{
+				consumed++;
+			}
+		}
+		else if (regionEquals(text, bodyStart, nameEnd, SCP))
+		{
+			if (firstArgEnd < close && firstArgEnd + 1 == close)
+			{
+				// A trailing empty level argument is malformed, drop the template
+				return consumed;
+			}
+			
+			append(text, firstArgStart, firstArgEnd);
+			if (firstArgEnd < close)
+			{
+				appendSpace();
+				append(text, firstArgEnd + 1, close);
+			}
+		}
+		return consumed;
+	}
+	
+	/**
+	 * Handles a link starting at {@code from}.
+	 *
+	 * @return Characters consumed, or 0 if the text is not a link
+	 */
+	private int appendLink(CharSequence text, int from, int end)
+	{
+		int targetStart = from + 2;
+		int close = closeBracket.indexOf(text, targetStart, end);
+		if (close < 0 || close + 1 >= end || text.charAt(close + 1) != ']')
+		{
+			return 0;
+		}
+		
+		int labelStart = pipe.indexOf(text, targetStart, close);
+		int targetEnd = labelStart < 0 ? close : labelStart;
+		if (targetEnd == targetStart || (labelStart >= 0 && labelStart + 1 == close))
+		{
+			return 0;
+		}
+		
+		if (labelStart < 0)
+		{
+			append(text, targetStart, targetEnd);
+		}
+		else
+		{
+			append(text, labelStart + 1, close);
+		}
+		return close + 2 - from;
+	}
+	
+	/**
+	 * Finds the pipe ending a template argument, skipping pipes inside links.
+	 */
+	private static int findArgumentEnd(CharSequence text, int from, int end)
+	{
+		int linkDepth = 0;
+		for (int i = from; i < end; i++)
+		{
+			char c = text.charAt(i);
+			if (c == '[' && i + 1 < end && text.charAt(i + 1) == '[')
+			{
+				linkDepth++;
+				i++;
+			}
+			else if (c == ']' && linkDepth > 0 && i + 1 < end && text.charAt(i + 1) == ']')
+			{
+				linkDepth--;
+				i++;
+			}
+			else if (c == '|' && linkDepth == 0)
+			{
+				return i;
+			}
+		}
+		return end;
+	}
+	
+	private void appendSpace()
+	{
+		if (out.length() > 0 && out.charAt(out.length() - 1) != ' ')
+		{
+			out.append(' ');
+		}
+	}
+	
+	private int trimmedEnd(int start, int end)
+	{
+		int i = end;
+		while (i > start && out.charAt(i - 1) <= ' ')
+		{
+			i--;
+		}
+		return i;
+	}
+	
+	private boolean endsWith(int length, String suffix)
+	{
+		int offset = length - suffix.length();
+		for (int i = 0; i < suffix.length(); i++)
+		{
+			if (out.charAt(offset + i) != suffix.charAt(i))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	
+	private static boolean regionEquals(CharSequence text, int start, int end, String expected)
+	{
+		return end - start == expected.length() && regionStartsWith(text, start, expected);
+	}
+	
+	private static boolean regionStartsWith(CharSequence text, int start, String prefix)
+	{
+		if (start + prefix.length() > text.length())
+		{
+			return false;
+		}
+		for (int i = 0; i < prefix.length(); i++)
+		{
+			if (text.charAt(start + i) != prefix.charAt(i))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Forward search for one character that reuses its last result. Having found
+	 * the first match at or after some offset, that match is also the answer for
+	 * every later start up to it, and a search that found nothing stays empty for
+	 * every later start within the range already covered.
+	 */
+	private static final class CharSearch
+	{
+		private final char target;
+		private int searchedFrom;
+		private int searchedTo;
+		private int found;
+		
+		CharSearch(char target)
+		{
+			this.target = target;
+			reset();
+		}
+		
+		void reset()
+		{
+			searchedFrom = Integer.MAX_VALUE;
+			searchedTo = -1;
+			found = -1;
+		}
+		
+		int indexOf(CharSequence text, int from, int end)
+		{
+			if (from >= searchedFrom)
+			{
+				if (found >= from)
+				{
+					return found < end ? found : -1;
+				}
+				if (found < 0 && end <= searchedTo)
+				{
+					return -1;
+				}
+			}
+			
+			searchedFrom = from;
+			searchedTo = end;
+			found = -1;
+			for (int i = from; i < end; i++)
+			{
+				if (text.charAt(i) == target)
+				{
+					found = i;
+					break;
+				}
+			}
+			return found;
+		}
+	}
+	
+	// Same characters as \s in java.util.regex
+	private static boolean isWhitespace(char c)
+	{
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+	}
+}
@@ -4,279 +4,470 @@ package com.runelite.skillunlocks.service.parser;
 
 import com.runelite.skillunlocks.domain.model.SkillData;
 import com.runelite.skillunlocks.domain.model.SkillUnlock;
+import com.runelite.skillunlocks.util.StringPool;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Skill;
+import java.time.Duration;
 import java.time.Instant;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.TreeMap;
 
+/**
+ * Parses the Level up table template of a skill page into skill data.
+ * 
+ * The page is read in place through offsets: the table, its parameters and
+ * unlock lines are never copied, and the only strings created are the final
+ * unlock names and requirements. Those go through a string pool, so a value
+ * seen before, on this page or another, is shared rather than copied. Any
+ * CharSequence works as input, such as a CharBuffer over a decoded response.
+ * 
+ * When the previous parse of the page is given, the parameters of each level
+ * are hashed first and only levels whose wikitext changed are parsed again;
+ * the other levels keep their previous unlock objects.
+ * 
+ * Every step runs in time linear in the page length, so a malformed or
+ * adversarial page cannot make parsing blow up; on top of that a page that
+ * takes longer than the parse budget is cut short, keeps the unlocks
+ * found so far and is marked truncated.
+ */
 @Slf4j
 public class WikiTextParser
 {
-	// Pattern to find the Level up table template - match until the closing }} at the start of a line
-	// This ensures we capture the entire template even with nested templates inside
-	private static final Pattern LEVEL_UP_TABLE_PATTERN = Pattern.compile("\\{\\{Level up table\\s*\\n([\\s\\S]*?)\\n}}", Pattern.MULTILINE);
+	// The template opens with "{{Level up table" and closes with "}}" at the start of a line,
+	// so templates nested inside it never end it early
+	private static final String LEVEL_UP_TABLE_START = "{{Level up table";
+	private static final String LEVEL_UP_TABLE_END = "\n}}";
+	private static final String REQUIREMENT_PREFIX = "with";
 	
+	static final Duration DEFAULT_PARSE_BUDGET = Duration.ofSeconds(2);
+	// Seeds the level hashes, bump it when a parser change alters the unlocks of unchanged wikitext
+	private static final long LEVEL_HASH_VERSION = 1;
+	private static final long FNV_PRIME = 0x100000001b3L;
 	
-	// Pattern to clean wiki formatting
-	private static final Pattern WIKI_LINK_PATTERN = Pattern.compile("\\[\\[([^|\\]]+)(?:\\|([^]]+))?]]");
-	private static final Pattern TEMPLATE_PATTERN = Pattern.compile("\\{\\{[^}]+}}");
-	private static final Pattern SKILL_COMPARE_PATTERN = Pattern.compile("\\{\\{SCP\\|([^}|]+)(?:\\|([^}]+))?}}");
+	private final UnlockTypeClassifier unlockTypeClassifier;
+	private final StringPool stringPool;
+	private final long parseBudgetNanos;
 	
-	public SkillData parseSkillPage(Skill skill, String wikiText)
+	public WikiTextParser()
 	{
-		SkillData skillData = SkillData.builder()
+		this(UnlockTypeClassifier.loadDefault());
+	}
+	
+	public WikiTextParser(UnlockTypeClassifier unlockTypeClassifier)
+	{
+		this(unlockTypeClassifier, DEFAULT_PARSE_BUDGET);
+	}
+	
+	/**
+	 * @param stringPool Pool the parsed strings are shared through, usually the one the cache loads into
+	 */
+	public WikiTextParser(UnlockTypeClassifier unlockTypeClassifier, StringPool stringPool)
+	{
+		this(unlockTypeClassifier, stringPool, DEFAULT_PARSE_BUDGET);
+	}
+	
+	/**
+	 * @param parseBudget Time after which parsing of a page stops with the unlocks found so far
+	 */
+	public WikiTextParser(UnlockTypeClassifier unlockTypeClassifier, Duration parseBudget)
+	{
+		this(unlockTypeClassifier, new StringPool(), parseBudget);
+	}
+	
+	/**
+	 * @param stringPool Pool the parsed strings are shared through
+	 * @param parseBudget Time after which parsing of a page stops with the unlocks found so far
+	 */
+	public WikiTextParser(UnlockTypeClassifier unlockTypeClassifier, StringPool stringPool, Duration parseBudget)
+	{
+		this.unlockTypeClassifier = unlockTypeClassifier;
+		this.stringPool = stringPool;
+		this.parseBudgetNanos = parseBudget.toNanos();
+	}
+	
+	public SkillData parseSkillPage(Skill skill, CharSequence wikiText)
+	{
+		return parseSkillPage(skill, wikiText, null);
+	}
+	
+	/**
+	 * @param previous The last data parsed from an earlier revision of the page, may be null
+	 * @return The parsed data, levels whose wikitext is unchanged share their previous unlocks
+	 */
+	public SkillData parseSkillPage(Skill skill, CharSequence wikiText, SkillData previous)
+	{
+		SkillData.SkillDataBuilder skillData = SkillData.builder()
 			.skill(skill)
-			.lastUpdated(Instant.now())
-			.build();
+			.lastUpdated(Instant.now());
 		
 		// Find the Level up table template
-		Matcher tableMatch = LEVEL_UP_TABLE_PATTERN.matcher(wikiText);
-		if (tableMatch.find())
+		int[] table = findLevelUpTable(wikiText);
+		if (table != null)
 		{
-			String tableContent = tableMatch.group(1);
-			parseTableContent(tableContent, skillData);
+			long deadline = System.nanoTime() + parseBudgetNanos;
+			skillData.levelHashes(parseTableContent(wikiText, table[0], table[1], skill, skillData, previous,
+				new WikiTextCleaner(), deadline));
 		}
 		else
 		{
 			// If no Level up table template found, log first 500 chars
 			log.warn("No Level up table template found for skill: {}. Wiki text preview: {}", 
-				skill, wikiText.length() > 500 ? wikiText.substring(0, 500) + "..." : wikiText);
+				skill, wikiText.length() > 500 ? wikiText.subSequence(0, 500) + "..." : wikiText);
+		}
+		return skillData.build();
+	}
+	
+	/**
+	 * Locates the body of the Level up table template: the text from the line after
+	 * "{{Level up table" up to the first line starting with "}}".
+	 *
+	 * @return Start and end offset of the body, or null if the page has no complete template
+	 */
+	static int[] findLevelUpTable(CharSequence wikiText)
+	{
+		int start = indexOf(wikiText, LEVEL_UP_TABLE_START, 0);
+		while (start >= 0)
+		{
+			// Only whitespace may follow the template name, and it has to include a line break
+			int nameEnd = start + LEVEL_UP_TABLE_START.length();
+			int whitespaceEnd = nameEnd;
+			int lastNewline = -1;
+			int previousNewline = -1;
+			while (whitespaceEnd < wikiText.length() && isRegexWhitespace(wikiText.charAt(whitespaceEnd)))
+			{
+				if (wikiText.charAt(whitespaceEnd) == '\n')
+				{
+					previousNewline = lastNewline;
+					lastNewline = whitespaceEnd;
+				}
+				whitespaceEnd++;
+			}
+			
+			if (lastNewline >= 0)
+			{
+				int end = indexOf(wikiText, LEVEL_UP_TABLE_END, lastNewline + 1);
+				if (end >= 0)
+				{
+					return new int[]{lastNewline + 1, end};
+				}
+				// An empty template closes on its own header line break
+				if (previousNewline >= 0 && startsWith(wikiText, "}}", lastNewline + 1))
+				{
+					return new int[]{previousNewline + 1, lastNewline};
+				}
+				// No closing line anywhere after this point, later headers cannot match either
+				return null;
+			}
+			
+			start = indexOf(wikiText, LEVEL_UP_TABLE_START, nameEnd);
 		}
-		return skillData;
+		return null;
 	}
 	
-	private void parseTableContent(String tableContent, SkillData skillData)
+	/**
+	 * @return The wikitext hash of each level, empty if parsing was cut short, which also marks the data truncated
+	 */
+	private Map<Integer, Long> parseTableContent(CharSequence text, int tableStart, int tableEnd, Skill skill,
+		SkillData.SkillDataBuilder skillData, SkillData previous, WikiTextCleaner cleaner, long deadline)
 	{
-		// Split by | to get all parameters
-		String[] parts = tableContent.split("\\|");
+		// One forward pass over the template, pipes nested in templates and links are skipped
+		LevelUpTableTokenizer tokenizer = new LevelUpTableTokenizer(text, tableStart, tableEnd);
+		TableParams params = new TableParams();
+		Map<Integer, Long> levelHashes = new TreeMap<>();
 		
 		int totalParams = 0;
-		int nonEmptyParams = 0;
-		
-		for (int i = 0; i < parts.length; i++)
+		while (tokenizer.next())
 		{
-			String part = parts[i];
-			
-			// Skip empty parts
-			if (part.trim().isEmpty())
+			totalParams++;
+			int bodyStart = tokenizer.getBodyStart();
+			int bodyEnd = tokenizer.getBodyEnd();
+			if (isBlank(text, bodyStart, bodyEnd))
 			{
 				continue;
 			}
 			
-			// Check if this part contains a parameter definition
-			// Allow for whitespace/newlines at the start
-			if (part.matches("(?s)^\\s*(freeplay|members)(\\d+|all)\\s*=.*"))
+			// "all" parameters apply to every level, they are listed under level 1
+			int level = tokenizer.getLevel() == LevelUpTableTokenizer.ALL_LEVELS ? 1 : tokenizer.getLevel();
+			params.add(level, tokenizer.isMembers(), bodyStart, bodyEnd);
+			Long levelHash = levelHashes.get(level);
+			long paramHash = hash(text, bodyStart, bodyEnd, tokenizer.isMembers());
+			levelHashes.put(level, (levelHash != null ? levelHash : LEVEL_HASH_VERSION) * 31 + paramHash);
+		}
+		
+		BitSet reusedLevels = new BitSet();
+		for (int i = 0; i < params.size; i++)
+		{
+			if (System.nanoTime() - deadline > 0)
+			{
+				log.warn("Parsing {} exceeded its time budget after {} parameters, keeping the unlocks found so far",
+					skill, i);
+				// Levels cut short must not be taken as parsed by the next refresh
+				levelHashes.clear();
+				skillData.truncated(true);
+				break;
+			}
+			
+			int level = params.levels[i];
+			if (previous != null && levelHashes.get(level).equals(previous.getLevelHashes().get(level)))
 			{
-				totalParams++;
-				// Extract the parameter name and content
-				int equalsIndex = part.indexOf('=');
-				if (equalsIndex != -1)
+				// Unchanged wikitext, the level is taken over as a whole on its first parameter
+				if (!reusedLevels.get(level))
 				{
-					String paramName = part.substring(0, equalsIndex).trim();
-					StringBuilder content = new StringBuilder(part.substring(equalsIndex + 1));
-					
-					// Continue collecting content until we hit the next parameter
-					int j = i + 1;
-					while (j < parts.length && !parts[j].matches("(?s)^\\s*(freeplay|members)(\\d+|all)\\s*=.*"))
-					{
-						content.append("|").append(parts[j]);
-						j++;
-					}
-					
-					// Parse the parameter - handle both numbered params and "all" params
-					Matcher paramMatcher = Pattern.compile("(freeplay|members)(\\d+|all)").matcher(paramName);
-					if (paramMatcher.matches())
-					{
-						String memberType = paramMatcher.group(1);
-						String levelStr = paramMatcher.group(2);
-						
-						if (!content.toString().trim().isEmpty())
-						{
-							nonEmptyParams++;
-							
-							// Handle "all" parameters - apply to all levels
-							if ("all".equals(levelStr))
-							{
-								// For now, we'll add these to level 1 with a special marker
-								// In the future, we might want to handle these differently
-								parseUnlocksFromContent(content.toString(), 1, memberType, skillData);
-							}
-							else
-							{
-								int level = Integer.parseInt(levelStr);
-								if (level == 1 || level == 10 || level == 50 || level == 99) {
-									log.debug("Content for {} level {}: [{}]", skillData.getSkill(), level, 
-										content.length() > 150 ? content.substring(0, 150) + "..." : content.toString());
-								}
-								parseUnlocksFromContent(content.toString(), level, memberType, skillData);
-							}
-						}
-					}
-					
-					// Skip the parts we've already processed
-					i = j - 1;
+					reusedLevels.set(level);
+					skillData.unlocks(previous.getUnlocksForLevel(level));
 				}
+				continue;
+			}
+			
+			int bodyStart = params.starts[i];
+			int bodyEnd = params.ends[i];
+			if (log.isDebugEnabled() && (level == 1 || level == 10 || level == 50 || level == 99))
+			{
+				log.debug("Content for {} level {}: [{}]", skill, level,
+					text.subSequence(bodyStart, Math.min(bodyEnd, bodyStart + 150)));
+			}
+			if (!parseUnlocksFromContent(text, bodyStart, bodyEnd, level, params.members[i], skill, skillData, cleaner, deadline))
+			{
+				log.warn("Parsing {} exceeded its time budget in level {}, keeping the unlocks found so far", skill, level);
+				levelHashes.clear();
+				skillData.truncated(true);
+				break;
 			}
 		}
 		
-		log.debug("Found {} total params, {} non-empty for {}", totalParams, nonEmptyParams, skillData.getSkill());
+		log.debug("Found {} total params, {} non-empty for {}", totalParams, params.size, skill);
+		if (previous != null)
+		{
+			log.debug("Kept {} of {} levels of {} from the previous revision", reusedLevels.cardinality(), levelHashes.size(), skill);
+		}
+		return levelHashes;
 	}
 	
-	private void parseUnlocksFromContent(String content, int level, String memberType, SkillData skillData)
+	// FNV-1a over the parameter value, seeded with its members flag
+	private static long hash(CharSequence text, int start, int end, boolean members)
 	{
-		// Split by newlines and look for lines starting with *
-		String[] lines = content.split("\n");
-		
-		for (String line : lines)
+		long hash = members ? 0xcbf29ce484222325L : 0x84222325cbf29ce4L;
+		for (int i = start; i < end; i++)
 		{
-			String trimmedLine = line.trim();
-			if (trimmedLine.startsWith("*"))
+			hash = (hash ^ text.charAt(i)) * FNV_PRIME;
+		}
+		return hash;
+	}
+	
+	/**
+	 * @return false if the deadline passed before every line was parsed
+	 */
+	private boolean parseUnlocksFromContent(CharSequence text, int start, int end, int level, boolean members,
+		Skill skill, SkillData.SkillDataBuilder skillData, WikiTextCleaner cleaner, long deadline)
+	{
+		// Walk the lines of the parameter value and look for lines starting with *
+		int lineStart = start;
+		while (lineStart < end && System.nanoTime() - deadline <= 0)
+		{
+			int lineEnd = indexOf(text, '\n', lineStart, end);
+			if (lineEnd < 0)
+			{
+				lineEnd = end;
+			}
+			
+			int first = skipBlank(text, lineStart, lineEnd);
+			if (first < lineEnd && text.charAt(first) == '*')
 			{
-				// Remove the * and any following whitespace
-				String unlockText = trimmedLine.substring(1).trim();
+				// Drop the * and the blanks around the unlock text
+				int textStart = skipBlank(text, first + 1, lineEnd);
+				int textEnd = lineEnd;
+				while (textEnd > textStart && text.charAt(textEnd - 1) <= ' ')
+				{
+					textEnd--;
+				}
 				
-				if (!unlockText.isEmpty())
+				if (textStart < textEnd)
 				{
-					processUnlockLine(unlockText, level, memberType, skillData);
+					processUnlockLine(cleaner.clean(text, textStart, textEnd), level, members, skill, skillData);
 				}
 			}
+			lineStart = lineEnd + 1;
 		}
+		return lineStart >= end;
 	}
 	
-	private void processUnlockLine(String unlockLine, int level, String memberType, SkillData skillData)
+	/**
+	 * Finds the first non-empty parenthesised text, dropping a leading "with",
+	 * e.g. "(with Defence 5)" gives "Defence 5".
+	 *
+	 * @return Offsets of the opening parenthesis and of the start and end of the
+	 *         requirement text, or null if there is none
+	 */
+	static int[] findRequirement(CharSequence text)
 	{
-		String cleanedUnlock = cleanUnlockText(unlockLine);
-		
-		if (cleanedUnlock.length() > 2)
+		int close = -1;
+		for (int open = indexOf(text, '(', 0, text.length()); open >= 0; open = indexOf(text, '(', open + 1, text.length()))
 		{
-			// Extract requirements if present (text in parentheses)
-			String requirements = "";
-			Pattern reqPattern = Pattern.compile("\\((?:with\\s+)?([^)]+)\\)");
-			Matcher reqMatcher = reqPattern.matcher(cleanedUnlock);
-			if (reqMatcher.find())
+			// Parentheses do not nest, the first ) after the ( closes it
+			if (close <= open)
+			{
+				close = indexOf(text, ')', open + 1, text.length());
+				if (close < 0)
+				{
+					return null;
+				}
+			}
+			if (close == open + 1)
 			{
-				requirements = reqMatcher.group(1);
-				cleanedUnlock = cleanedUnlock.substring(0, reqMatcher.start()).trim();
+				continue;
 			}
 			
-			SkillUnlock unlock = SkillUnlock.builder()
-				.level(level)
-				.name(cleanedUnlock)
-				.description(memberType.equals("members") ? "Members only" : "")
-				.requirements(requirements)
-				.type(determineUnlockType(cleanedUnlock, skillData.getSkill()))
-				.build();
-			
-			skillData.addUnlock(unlock);
+			int textStart = open + 1;
+			int prefixEnd = textStart + REQUIREMENT_PREFIX.length();
+			if (startsWith(text, REQUIREMENT_PREFIX, textStart) && prefixEnd < close && isRegexWhitespace(text.charAt(prefixEnd)))
+			{
+				int whitespaceEnd = prefixEnd;
+				while (whitespaceEnd < close && isRegexWhitespace(text.charAt(whitespaceEnd)))
+				{
+					whitespaceEnd++;
+				}
+				if (whitespaceEnd < close)
+				{
+					textStart = whitespaceEnd;
+				}
+				else if (whitespaceEnd - prefixEnd > 1)
+				{
+					// Only whitespace after "with", the requirement is its last character
+					textStart = close - 1;
+				}
+			}
+			return new int[]{open, textStart, close};
 		}
+		return null;
 	}
 	
-	private String cleanUnlockText(String text)
+	// Same characters as \s in java.util.regex
+	private static boolean isRegexWhitespace(char c)
 	{
-		// Handle plink templates - extract txt parameter if present, otherwise use item name
-		// Also consume trailing pluralization suffixes (e/s) after the template
-		String cleaned = text;
-		Pattern plinkWithTxtPattern = Pattern.compile("\\{\\{plink\\|[^|}]+(?:\\|[^|}]*)*\\|txt=([^|}]+)(?:\\|[^}]*)*}}[es]?");
-		cleaned = replacePlinkTemplate(cleaned, plinkWithTxtPattern);
-		
-		// Now handle regular plink templates without txt parameter
-		// Also consume trailing pluralization suffixes (e/s) after the template
-		Pattern simplePlinkPattern = Pattern.compile("\\{\\{plink\\|([^|}]+)(?:\\|[^}]*)*}}[es]?");
-		cleaned = replacePlinkTemplate(cleaned, simplePlinkPattern);
-		
-		// Handle SCP templates (e.g., {{SCP|Quest|Level}} becomes "Quest Level")
-		Matcher scpMatcher = SKILL_COMPARE_PATTERN.matcher(cleaned);
-		StringBuilder scpResult = new StringBuilder();
-		while (scpMatcher.find())
-		{
-			String skill = scpMatcher.group(1);
-			String level = scpMatcher.group(2);
-			String replacement = level != null ? skill + " " + level : skill;
-			scpMatcher.appendReplacement(scpResult, replacement);
-		}
-		scpMatcher.appendTail(scpResult);
-		cleaned = scpResult.toString();
-		
-		// Convert wiki links to plain text
-		Matcher linkMatcher = WIKI_LINK_PATTERN.matcher(cleaned);
-		StringBuilder linkResult = new StringBuilder();
-		while (linkMatcher.find())
-		{
-			String replacement = linkMatcher.group(2) != null ? linkMatcher.group(2) : linkMatcher.group(1);
-			linkMatcher.appendReplacement(linkResult, replacement);
-		}
-		linkMatcher.appendTail(linkResult);
-		cleaned = linkResult.toString();
-		
-		// Remove any remaining templates
-		cleaned = TEMPLATE_PATTERN.matcher(cleaned).replaceAll("");
-		
-		// Clean up formatting and fix any broken parentheses
-		cleaned = cleaned.replaceAll("'''", "")
-				.replaceAll("''", "")
-				.replaceAll("\\s+", " ")
-				.replaceAll("\\(with\\s*$", "") // Remove incomplete "(with" at the end
-				.trim();
-		
-		return cleaned;
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
 	}
 	
-	private String replacePlinkTemplate(String text, Pattern pattern)
+	private static int indexOf(CharSequence text, char c, int from, int end)
 	{
-		Matcher matcher = pattern.matcher(text);
-		StringBuilder result = new StringBuilder();
-		while (matcher.find())
+		for (int i = from; i < end; i++)
 		{
-			String replacement = matcher.group(1);
-			matcher.appendReplacement(result, replacement);
+			if (text.charAt(i) == c)
+			{
+				return i;
+			}
 		}
-		matcher.appendTail(result);
-		return result.toString();
+		return -1;
 	}
 	
-	private SkillUnlock.UnlockType determineUnlockType(String unlockText, Skill skill)
+	// Only used with short constant needles, so the simple search stays linear in the text
+	private static int indexOf(CharSequence text, String needle, int from)
 	{
-		String lower = unlockText.toLowerCase();
-		
-		if (skill == Skill.MAGIC && (lower.contains("spell") || lower.contains("teleport") || lower.contains("enchant")))
-		{
-			return SkillUnlock.UnlockType.SPELL;
-		}
-		else if (skill == Skill.PRAYER && lower.contains("prayer"))
-		{
-			return SkillUnlock.UnlockType.PRAYER;
-		}
-		else if (lower.contains("quest") || lower.contains("miniquest"))
+		int last = text.length() - needle.length();
+		for (int i = from; i <= last; i++)
 		{
-			return SkillUnlock.UnlockType.QUEST;
+			if (startsWith(text, needle, i))
+			{
+				return i;
+			}
 		}
-		else if (lower.contains("area") || lower.contains("location") || lower.contains("access"))
+		return -1;
+	}
+	
+	private static boolean startsWith(CharSequence text, String prefix, int from)
+	{
+		if (from < 0 || from + prefix.length() > text.length())
 		{
-			return SkillUnlock.UnlockType.LOCATION;
+			return false;
 		}
-		else if (lower.contains("ability") || lower.contains("can "))
+		for (int i = 0; i < prefix.length(); i++)
 		{
-			return SkillUnlock.UnlockType.ABILITY;
+			if (text.charAt(from + i) != prefix.charAt(i))
+			{
+				return false;
+			}
 		}
-		else if (lower.contains("activity") || lower.contains("minigame"))
+		return true;
+	}
+	
+	private static int skipBlank(CharSequence text, int from, int end)
+	{
+		int i = from;
+		while (i < end && text.charAt(i) <= ' ')
 		{
-			return SkillUnlock.UnlockType.ACTIVITY;
+			i++;
 		}
-		else if (isItemUnlock(lower))
+		return i;
+	}
+	
+	private static boolean isBlank(CharSequence text, int start, int end)
+	{
+		return skipBlank(text, start, end) == end;
+	}
+	
+	/**
+	 * @param cleanedUnlock The cleaner's output for the line, only valid during this call
+	 */
+	private void processUnlockLine(CharSequence cleanedUnlock, int level, boolean members, Skill skill,
+		SkillData.SkillDataBuilder skillData)
+	{
+		if (cleanedUnlock.length() > 2)
 		{
-			return SkillUnlock.UnlockType.ITEM;
+			// Extract requirements if present (text in parentheses)
+			String requirements = "";
+			int nameEnd = cleanedUnlock.length();
+			int[] requirement = findRequirement(cleanedUnlock);
+			if (requirement != null)
+			{
+				requirements = stringPool.intern(cleanedUnlock, requirement[1], requirement[2]);
+				nameEnd = requirement[0];
+				while (nameEnd > 0 && cleanedUnlock.charAt(nameEnd - 1) <= ' ')
+				{
+					nameEnd--;
+				}
+			}
+			// The cleaner already trimmed the start of the line
+			String name = stringPool.intern(cleanedUnlock, 0, nameEnd);
+			
+			SkillUnlock unlock = SkillUnlock.builder()
+				.level(level)
+				.name(name)
+				.members(members)
+				.requirements(requirements)
+				.requirementEntries(RequirementParser.parse(requirements, stringPool))
+				.type(unlockTypeClassifier.classify(name, skill))
+				.build();
+			
+			skillData.unlock(unlock);
 		}
-		
-		return SkillUnlock.UnlockType.OTHER;
 	}
 	
-	private boolean isItemUnlock(String text)
+	/**
+	 * The non-blank parameters of a table in page order
+	 */
+	private static class TableParams
 	{
-		return text.contains("make") || text.contains("craft") || text.contains("smith") ||
-			   text.contains("cook") || text.contains("catch") || text.contains("mine") ||
-			   text.contains("cut") || text.contains("fletch") || text.contains("brew") ||
-			   text.contains("create") || text.contains("build") || text.contains("grow") ||
-			   text.contains("wield") || text.contains("wear") || text.contains("equip");
+		private int[] levels = new int[64];
+		private boolean[] members = new boolean[64];
+		private int[] starts = new int[64];
+		private int[] ends = new int[64];
+		private int size;
+		
+		void add(int level, boolean isMembers, int start, int end)
+		{
+			if (size == levels.length)
+			{
+				levels = Arrays.copyOf(levels, size * 2);
+				members = Arrays.copyOf(members, size * 2);
+				starts = Arrays.copyOf(starts, size * 2);
+				ends = Arrays.copyOf(ends, size * 2);
+			}
+			levels[size] = level;
+			members[size] = isMembers;
+			starts[size] = start;
+			ends[size] = end;
+			size++;
+		}
 	}
-}
\ No newline at end of file
+}
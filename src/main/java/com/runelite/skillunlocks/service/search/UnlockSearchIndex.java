@@ -0,0 +1,799 @@
+package com.runelite.skillunlocks.service.search;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import com.runelite.skillunlocks.domain.model.SkillData;
+import com.runelite.skillunlocks.domain.model.SkillUnlock;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Skill;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Full-text index over the unlocks of every loaded skill, immutable once built
+ *
+ * The name, description and requirements of each unlock are split into
+ * lowercase words. Every unlock has an id, its skill's first id plus its index
+ * in {@link SkillData#getAllUnlocks()}, and every word a sorted list of the
+ * ids it occurs in. A sorted table of the suffixes of all words finds the
+ * words containing a search term by binary search, so a query only touches
+ * the ids of the matching words, never the text of the unlocks.
+ *
+ * A query matches the unlocks that contain each of its words within one of
+ * their own words, in any order. Fuzzy queries also accept words spelled
+ * differently: every word is indexed by its trigrams, the runs of three
+ * characters of the word padded with a space at both ends, and two words are
+ * similar when they share enough of their trigrams.
+ *
+ * Each skill is indexed on its own, so {@link #withSkillData(Map)} only
+ * indexes the skills that changed and shares the rest with the old index.
+ */
+@Slf4j
+public final class UnlockSearchIndex
+{
+	public static final UnlockSearchIndex EMPTY = new UnlockSearchIndex(new Segment[Skill.values().length]);
+	
+	// Suffixes of longer words are only indexed up to this offset
+	private static final int MAX_SUFFIX_OFFSET = 0xFF;
+	// Suffix ranges this short are sorted by insertion instead of by character
+	private static final int INSERTION_SORT_THRESHOLD = 12;
+	// Dice coefficient of the trigrams below which a word is not a fuzzy match
+	private static final float MIN_SIMILARITY = 0.4f;
+	// Terms shorter than this only match as part of a word, their few trigrams match too much
+	private static final int MIN_FUZZY_TERM_LENGTH = 3;
+	// Ranking score lost by an unlock MAX_LEVEL levels away from the player's level
+	private static final float LEVEL_DISTANCE_WEIGHT = 0.2f;
+	static final String ABBREVIATIONS_RESOURCE = "search-abbreviations.json";
+	// Player shorthand that shares too few trigrams with the word it stands for
+	private static final Map<String, String> ABBREVIATIONS = loadAbbreviations();
+	
+	// Index of each skill's unlocks by skill ordinal, null for skills without data
+	private final Segment[] segments;
+	// First id of each skill's unlocks by skill ordinal, the last entry is the number of ids
+	private final int[] skillStarts;
+	private final SkillUnlock[] unlocks;
+	
+	private UnlockSearchIndex(Segment[] segments)
+	{
+		this.segments = segments;
+		skillStarts = new int[segments.length + 1];
+		for (int ordinal = 0; ordinal < segments.length; ordinal++)
+		{
+			skillStarts[ordinal + 1] = skillStarts[ordinal] + (segments[ordinal] != null ? segments[ordinal].unlocks.length : 0);
+		}
+		unlocks = new SkillUnlock[skillStarts[segments.length]];
+		for (int ordinal = 0; ordinal < segments.length; ordinal++)
+		{
+			if (segments[ordinal] != null)
+			{
+				System.arraycopy(segments[ordinal].unlocks, 0, unlocks, skillStarts[ordinal], segments[ordinal].unlocks.length);
+			}
+		}
+	}
+	
+	/**
+	 * Indexes the unlocks of every skill in the map
+	 */
+	public static UnlockSearchIndex build(Map<Skill, SkillData> skillDataMap)
+	{
+		return EMPTY.withSkillData(skillDataMap);
+	}
+	
+	/**
+	 * Indexes the skills in the map, sharing the index of every other skill with this one
+	 *
+	 * @return An index over the skills of this one, with the data in the map in place of theirs
+	 */
+	public UnlockSearchIndex withSkillData(Map<Skill, SkillData> skillDataMap)
+	{
+		Segment[] updated = segments.clone();
+		for (Map.Entry<Skill, SkillData> entry : skillDataMap.entrySet())
+		{
+			int ordinal = entry.getKey().ordinal();
+			SkillData data = entry.getValue();
+			if (data == null)
+			{
+				updated[ordinal] = null;
+			}
+			else if (updated[ordinal] == null || updated[ordinal].skillData != data)
+			{
+				updated[ordinal] = Segment.build(data);
+			}
+		}
+		return new UnlockSearchIndex(updated);
+	}
+	
+	/**
+	 * @return The number of unlocks indexed over all skills
+	 */
+	public int size()
+	{
+		return unlocks.length;
+	}
+	
+	/**
+	 * @return The unlock with the id, as returned by {@link #search(String)}
+	 */
+	public SkillUnlock getUnlock(int id)
+	{
+		return unlocks[id];
+	}
+	
+	/**
+	 * @return The skill of the unlock with the id, as returned by {@link #search(String)}
+	 */
+	public Skill getSkill(int id)
+	{
+		int index = 0;
+		while (skillStarts[index + 1] <= id)
+		{
+			index++;
+		}
+		return segments[index].skillData.getSkill();
+	}
+	
+	/**
+	 * Searches the unlocks of every skill
+	 *
+	 * @return The ids of the matching unlocks, every id for a query without words
+	 */
+	public BitSet search(String query)
+	{
+		List<String> terms = terms(query);
+		BitSet matches = new BitSet(unlocks.length);
+		for (int ordinal = 0; ordinal < segments.length; ordinal++)
+		{
+			if (segments[ordinal] != null)
+			{
+				segments[ordinal].search(terms, matches, skillStarts[ordinal]);
+			}
+		}
+		return matches;
+	}
+	
+	/**
+	 * Searches the unlocks of one skill
+	 *
+	 * @param skillData The data whose unlocks are searched, data this index was not built from is indexed on its own
+	 * @return The indexes of the matching unlocks in {@link SkillData#getAllUnlocks()},
+	 *         every index for a query without words
+	 */
+	public BitSet search(SkillData skillData, String query)
+	{
+		Segment segment = segment(skillData);
+		BitSet matches = new BitSet(segment.unlocks.length);
+		segment.search(terms(query), matches, 0);
+		return matches;
+	}
+	
+	/**
+	 * Searches the unlocks of one skill, accepting words spelled differently, best matches first
+	 *
+	 * Results are ranked by how closely the query matches, less the distance of
+	 * the unlock's level from the player's level, so of two equal matches the
+	 * one nearer the player comes first.
+	 *
+	 * @param skillData The data whose unlocks are searched, data this index was not built from is indexed on its own
+	 * @return The indexes of the matching unlocks in {@link SkillData#getAllUnlocks()},
+	 *         none for a query without words
+	 */
+	public int[] searchRanked(SkillData skillData, String query, int playerLevel)
+	{
+		List<String> terms = terms(query);
+		if (terms.isEmpty())
+		{
+			return new int[0];
+		}
+		
+		Segment segment = segment(skillData);
+		float[] similarities = new float[segment.unlocks.length];
+		segment.similarities(terms, similarities, 0);
+		
+		// Score bits in the high half, order preserving for positive floats, so a sort ranks the indexes
+		long[] ranked = new long[similarities.length];
+		int count = 0;
+		for (int i = 0; i < similarities.length; i++)
+		{
+			if (similarities[i] <= 0)
+			{
+				continue;
+			}
+			int distance = Math.abs(segment.unlocks[i].getLevel() - playerLevel);
+			float score = similarities[i] - LEVEL_DISTANCE_WEIGHT * Math.min(distance, SkillData.MAX_LEVEL) / SkillData.MAX_LEVEL;
+			ranked[count++] = (long) (Integer.MAX_VALUE - Float.floatToIntBits(Math.max(score, 0f))) << 32 | i;
+		}
+		Arrays.sort(ranked, 0, count);
+		
+		int[] indexes = new int[count];
+		for (int i = 0; i < count; i++)
+		{
+			indexes[i] = (int) ranked[i];
+		}
+		return indexes;
+	}
+	
+	/**
+	 * Reads the bundled JSON object of lowercase shorthand and the word each stands for
+	 *
+	 * @return The abbreviations, none if the bundled file cannot be read
+	 */
+	private static Map<String, String> loadAbbreviations()
+	{
+		try (InputStream in = UnlockSearchIndex.class.getResourceAsStream(ABBREVIATIONS_RESOURCE))
+		{
+			if (in == null)
+			{
+				log.error("Search abbreviations {} not found, shorthand will only match by its trigrams", ABBREVIATIONS_RESOURCE);
+				return Collections.emptyMap();
+			}
+			Map<String, String> abbreviations = new Gson().fromJson(new InputStreamReader(in, StandardCharsets.UTF_8),
+				new TypeToken<Map<String, String>>(){}.getType());
+			if (abbreviations == null)
+			{
+				return Collections.emptyMap();
+			}
+			
+			// Terms are lowercased before they are looked up
+			Map<String, String> lowercased = new HashMap<>();
+			for (Map.Entry<String, String> entry : abbreviations.entrySet())
+			{
+				lowercased.put(entry.getKey().toLowerCase(Locale.ROOT), entry.getValue().toLowerCase(Locale.ROOT));
+			}
+			return Collections.unmodifiableMap(lowercased);
+		}
+		catch (IOException | JsonParseException e)
+		{
+			log.error("Failed to load search abbreviations, shorthand will only match by its trigrams", e);
+			return Collections.emptyMap();
+		}
+	}
+	
+	/**
+	 * @return The index of the data's skill, or of the data alone if this index was not built from it
+	 */
+	private Segment segment(SkillData skillData)
+	{
+		Segment segment = segments[skillData.getSkill().ordinal()];
+		return segment != null && segment.skillData == skillData ? segment : Segment.build(skillData);
+	}
+	
+	/**
+	 * @return The distinct trigrams of the word padded with a space at both ends, three chars packed per key
+	 */
+	private static long[] trigramKeys(String word)
+	{
+		long[] keys = new long[word.length()];
+		int count = 0;
+		for (int i = 0; i < word.length(); i++)
+		{
+			char first = i == 0 ? ' ' : word.charAt(i - 1);
+			char last = i == word.length() - 1 ? ' ' : word.charAt(i + 1);
+			long key = (long) first << 32 | (long) word.charAt(i) << 16 | last;
+			boolean seen = false;
+			for (int j = 0; j < count && !seen; j++)
+			{
+				seen = keys[j] == key;
+			}
+			if (!seen)
+			{
+				keys[count++] = key;
+			}
+		}
+		return count == keys.length ? keys : Arrays.copyOf(keys, count);
+	}
+	
+	/**
+	 * @return The lowercase words of the query
+	 */
+	private static List<String> terms(String query)
+	{
+		List<String> terms = new ArrayList<>();
+		int length = query.length();
+		int start = -1;
+		for (int i = 0; i <= length; i++)
+		{
+			boolean inWord = i < length && Character.isLetterOrDigit(query.charAt(i));
+			if (inWord && start < 0)
+			{
+				start = i;
+			}
+			else if (!inWord && start >= 0)
+			{
+				terms.add(toLowerCase(query, start, i));
+				start = -1;
+			}
+		}
+		return terms;
+	}
+	
+	// Lowercased a character at a time, as the words were when indexed
+	private static String toLowerCase(String text, int start, int end)
+	{
+		char[] chars = new char[end - start];
+		for (int i = start; i < end; i++)
+		{
+			chars[i - start] = Character.toLowerCase(text.charAt(i));
+		}
+		return new String(chars);
+	}
+	
+	/**
+	 * Sorts suffixes[low, high) by their text, all of which share their first depth characters
+	 *
+	 * Three-way radix quicksort: suffixes are split by their character at depth
+	 * and only those sharing it are compared on the next one, so no character
+	 * of a common prefix is compared twice.
+	 */
+	private static void sortSuffixes(String[] words, int[] suffixes, int low, int high, int depth)
+	{
+		while (high - low > INSERTION_SORT_THRESHOLD)
+		{
+			int pivot = suffixChar(words, suffixes[(low + high) >>> 1], depth);
+			int less = low;
+			int greater = high - 1;
+			int i = low;
+			while (i <= greater)
+			{
+				int c = suffixChar(words, suffixes[i], depth);
+				if (c < pivot)
+				{
+					swap(suffixes, less++, i++);
+				}
+				else if (c > pivot)
+				{
+					swap(suffixes, i, greater--);
+				}
+				else
+				{
+					i++;
+				}
+			}
+			
+			sortSuffixes(words, suffixes, low, less, depth);
+			sortSuffixes(words, suffixes, greater + 1, high, depth);
+			if (pivot < 0)
+			{
+				// Every suffix in the middle ended here, they are equal
+				return;
+			}
+			low = less;
+			high = greater + 1;
+			depth++;
+		}
+		
+		for (int i = low + 1; i < high; i++)
+		{
+			int suffix = suffixes[i];
+			int j = i - 1;
+			for (; j >= low && compareSuffixes(words, suffixes[j], suffix, depth) > 0; j--)
+			{
+				suffixes[j + 1] = suffixes[j];
+			}
+			suffixes[j + 1] = suffix;
+		}
+	}
+	
+	/**
+	 * @return The character of the suffix at depth, -1 past its end
+	 */
+	private static int suffixChar(String[] words, int suffix, int depth)
+	{
+		String word = words[suffix >>> 8];
+		int index = (suffix & 0xFF) + depth;
+		return index < word.length() ? word.charAt(index) : -1;
+	}
+	
+	private static void swap(int[] values, int a, int b)
+	{
+		int value = values[a];
+		values[a] = values[b];
+		values[b] = value;
+	}
+	
+	private static int compareSuffixes(String[] words, int a, int b, int depth)
+	{
+		String wordA = words[a >>> 8];
+		String wordB = words[b >>> 8];
+		int offsetA = (a & 0xFF) + depth;
+		int offsetB = (b & 0xFF) + depth;
+		int length = Math.min(wordA.length() - offsetA, wordB.length() - offsetB);
+		for (int i = 0; i < length; i++)
+		{
+			int diff = wordA.charAt(offsetA + i) - wordB.charAt(offsetB + i);
+			if (diff != 0)
+			{
+				return diff;
+			}
+		}
+		return (wordA.length() - offsetA) - (wordB.length() - offsetB);
+	}
+	
+	/**
+	 * The index of one skill's unlocks, ids are indexes in {@link SkillData#getAllUnlocks()}
+	 */
+	private static final class Segment
+	{
+		private final SkillData skillData;
+		private final SkillUnlock[] unlocks;
+		private final String[] words;
+		// Sorted ids of the unlocks each word occurs in
+		private final int[][] postings;
+		// Word index << 8 | offset of every word suffix, sorted by the suffix text
+		private final int[] suffixes;
+		// Sorted keys of every trigram, with the sorted indexes of the words having each
+		private final long[] trigrams;
+		private final int[][] trigramWords;
+		// Number of distinct trigrams of each word
+		private final int[] wordTrigramCounts;
+		
+		private Segment(SkillData skillData, SkillUnlock[] unlocks, String[] words, int[][] postings, int[] suffixes,
+			long[] trigrams, int[][] trigramWords, int[] wordTrigramCounts)
+		{
+			this.skillData = skillData;
+			this.unlocks = unlocks;
+			this.words = words;
+			this.postings = postings;
+			this.suffixes = suffixes;
+			this.trigrams = trigrams;
+			this.trigramWords = trigramWords;
+			this.wordTrigramCounts = wordTrigramCounts;
+		}
+		
+		static Segment build(SkillData skillData)
+		{
+			SkillUnlock[] unlocks = skillData.getAllUnlocks().toArray(new SkillUnlock[0]);
+			
+			// Ids are visited in order, so each posting list comes out sorted
+			Map<String, Integer> wordIndexes = new HashMap<>();
+			List<String> words = new ArrayList<>();
+			List<int[]> postings = new ArrayList<>();
+			int[] postingSizes = new int[16];
+			StringBuilder word = new StringBuilder();
+			for (int id = 0; id < unlocks.length; id++)
+			{
+				SkillUnlock unlock = unlocks[id];
+				for (String text : new String[]{unlock.getName(), unlock.getDescription(), unlock.getRequirements()})
+				{
+					if (text == null)
+					{
+						continue;
+					}
+					int length = text.length();
+					for (int i = 0; i <= length; i++)
+					{
+						char c = i < length ? text.charAt(i) : ' ';
+						if (Character.isLetterOrDigit(c))
+						{
+							word.append(Character.toLowerCase(c));
+							continue;
+						}
+						if (word.length() == 0)
+						{
+							continue;
+						}
+						
+						String key = word.toString();
+						word.setLength(0);
+						Integer index = wordIndexes.get(key);
+						if (index == null)
+						{
+							index = words.size();
+							wordIndexes.put(key, index);
+							words.add(key);
+							postings.add(new int[4]);
+							if (index == postingSizes.length)
+							{
+								postingSizes = Arrays.copyOf(postingSizes, index * 2);
+							}
+						}
+						
+						int[] ids = postings.get(index);
+						int size = postingSizes[index];
+						if (size > 0 && ids[size - 1] == id)
+						{
+							continue;
+						}
+						if (size == ids.length)
+						{
+							ids = Arrays.copyOf(ids, size * 2);
+							postings.set(index, ids);
+						}
+						ids[size] = id;
+						postingSizes[index] = size + 1;
+					}
+				}
+			}
+			
+			String[] wordArray = words.toArray(new String[0]);
+			int[][] postingArray = new int[wordArray.length][];
+			int suffixCount = 0;
+			for (int index = 0; index < wordArray.length; index++)
+			{
+				postingArray[index] = Arrays.copyOf(postings.get(index), postingSizes[index]);
+				suffixCount += Math.min(wordArray[index].length(), MAX_SUFFIX_OFFSET + 1);
+			}
+			
+			int[] suffixes = new int[suffixCount];
+			int suffix = 0;
+			for (int index = 0; index < wordArray.length; index++)
+			{
+				int offsets = Math.min(wordArray[index].length(), MAX_SUFFIX_OFFSET + 1);
+				for (int offset = 0; offset < offsets; offset++)
+				{
+					suffixes[suffix++] = index << 8 | offset;
+				}
+			}
+			sortSuffixes(wordArray, suffixes, 0, suffixCount, 0);
+			
+			long[][] wordTrigrams = new long[wordArray.length][];
+			int[] wordTrigramCounts = new int[wordArray.length];
+			int trigramCount = 0;
+			for (int index = 0; index < wordArray.length; index++)
+			{
+				wordTrigrams[index] = trigramKeys(wordArray[index]);
+				wordTrigramCounts[index] = wordTrigrams[index].length;
+				trigramCount += wordTrigrams[index].length;
+			}
+			long[] trigrams = new long[trigramCount];
+			int next = 0;
+			for (long[] keys : wordTrigrams)
+			{
+				System.arraycopy(keys, 0, trigrams, next, keys.length);
+				next += keys.length;
+			}
+			Arrays.sort(trigrams);
+			int distinct = 0;
+			for (int i = 0; i < trigrams.length; i++)
+			{
+				if (distinct == 0 || trigrams[i] != trigrams[distinct - 1])
+				{
+					trigrams[distinct++] = trigrams[i];
+				}
+			}
+			trigrams = Arrays.copyOf(trigrams, distinct);
+			
+			// Words are visited in order, so each trigram's word list comes out sorted
+			int[] trigramSizes = new int[trigrams.length];
+			for (long[] keys : wordTrigrams)
+			{
+				for (long key : keys)
+				{
+					trigramSizes[Arrays.binarySearch(trigrams, key)]++;
+				}
+			}
+			int[][] trigramWords = new int[trigrams.length][];
+			for (int i = 0; i < trigrams.length; i++)
+			{
+				trigramWords[i] = new int[trigramSizes[i]];
+				trigramSizes[i] = 0;
+			}
+			for (int index = 0; index < wordTrigrams.length; index++)
+			{
+				for (long key : wordTrigrams[index])
+				{
+					int trigram = Arrays.binarySearch(trigrams, key);
+					trigramWords[trigram][trigramSizes[trigram]++] = index;
+				}
+			}
+			
+			return new Segment(skillData, unlocks, wordArray, postingArray, suffixes, trigrams, trigramWords,
+				wordTrigramCounts);
+		}
+		
+		/**
+		 * Sets the bits of the unlocks containing every term, of every unlock without terms
+		 *
+		 * @param matches Receives the ids shifted up by offset, clear in that range
+		 */
+		void search(List<String> terms, BitSet matches, int offset)
+		{
+			int end = offset + unlocks.length;
+			if (terms.isEmpty())
+			{
+				matches.set(offset, end);
+				return;
+			}
+			
+			searchTerm(terms.get(0), matches, offset);
+			for (int t = 1; t < terms.size(); t++)
+			{
+				int first = matches.nextSetBit(offset);
+				if (first < 0 || first >= end)
+				{
+					return;
+				}
+				BitSet termMatches = new BitSet(unlocks.length);
+				searchTerm(terms.get(t), termMatches, 0);
+				for (int i = first; i >= 0 && i < end; i = matches.nextSetBit(i + 1))
+				{
+					if (!termMatches.get(i - offset))
+					{
+						matches.clear(i);
+					}
+				}
+			}
+		}
+		
+		/**
+		 * Computes the mean over the terms of the best similarity of any word of each unlock,
+		 * 0 for unlocks missing a term
+		 *
+		 * @param similarities Receives the similarity of each id shifted up by offset, zeroed in that range
+		 */
+		void similarities(List<String> terms, float[] similarities, int offset)
+		{
+			int end = offset + unlocks.length;
+			if (terms.isEmpty())
+			{
+				Arrays.fill(similarities, offset, end, 1f);
+				return;
+			}
+			
+			float[] termSimilarities = new float[unlocks.length];
+			float[] wordSimilarities = new float[words.length];
+			int[] sharedTrigrams = new int[words.length];
+			for (int t = 0; t < terms.size(); t++)
+			{
+				String term = terms.get(t);
+				Arrays.fill(wordSimilarities, 0f);
+				matchWords(term, wordSimilarities, sharedTrigrams);
+				String expansion = ABBREVIATIONS.get(term);
+				if (expansion != null)
+				{
+					matchWords(expansion, wordSimilarities, sharedTrigrams);
+				}
+				
+				Arrays.fill(termSimilarities, 0f);
+				for (int word = 0; word < words.length; word++)
+				{
+					float similarity = wordSimilarities[word];
+					if (similarity == 0)
+					{
+						continue;
+					}
+					for (int id : postings[word])
+					{
+						termSimilarities[id] = Math.max(termSimilarities[id], similarity);
+					}
+				}
+				
+				for (int i = offset; i < end; i++)
+				{
+					float termSimilarity = termSimilarities[i - offset];
+					similarities[i] = t == 0 || similarities[i] > 0 && termSimilarity > 0
+						? similarities[i] + termSimilarity
+						: 0f;
+				}
+			}
+			
+			for (int i = offset; i < end; i++)
+			{
+				similarities[i] /= terms.size();
+			}
+		}
+		
+		/**
+		 * Raises the similarity of every word to the term, 1 for words containing it,
+		 * the Dice coefficient of their trigrams for words spelled close to it
+		 *
+		 * @param sharedTrigrams Scratch space of one entry per word, left zeroed
+		 */
+		private void matchWords(String term, float[] wordSimilarities, int[] sharedTrigrams)
+		{
+			for (int i = firstSuffix(term); i < suffixes.length && suffixStartsWith(suffixes[i], term); i++)
+			{
+				wordSimilarities[suffixes[i] >>> 8] = 1f;
+			}
+			if (term.length() < MIN_FUZZY_TERM_LENGTH)
+			{
+				return;
+			}
+			
+			long[] keys = trigramKeys(term);
+			for (long key : keys)
+			{
+				int trigram = Arrays.binarySearch(trigrams, key);
+				if (trigram >= 0)
+				{
+					for (int word : trigramWords[trigram])
+					{
+						sharedTrigrams[word]++;
+					}
+				}
+			}
+			for (long key : keys)
+			{
+				int trigram = Arrays.binarySearch(trigrams, key);
+				if (trigram < 0)
+				{
+					continue;
+				}
+				for (int word : trigramWords[trigram])
+				{
+					int shared = sharedTrigrams[word];
+					if (shared == 0)
+					{
+						continue;
+					}
+					sharedTrigrams[word] = 0;
+					float similarity = 2f * shared / (keys.length + wordTrigramCounts[word]);
+					if (similarity >= MIN_SIMILARITY && similarity > wordSimilarities[word])
+					{
+						wordSimilarities[word] = similarity;
+					}
+				}
+			}
+		}
+		
+		/**
+		 * Sets the bits of the unlocks with a word containing the term, their ids shifted up by offset
+		 */
+		private void searchTerm(String term, BitSet matches, int offset)
+		{
+			for (int i = firstSuffix(term); i < suffixes.length && suffixStartsWith(suffixes[i], term); i++)
+			{
+				for (int id : postings[suffixes[i] >>> 8])
+				{
+					matches.set(offset + id);
+				}
+			}
+		}
+		
+		/**
+		 * @return The index of the first suffix not below the term, the suffixes starting with it follow
+		 */
+		private int firstSuffix(String term)
+		{
+			int low = 0;
+			int high = suffixes.length;
+			while (low < high)
+			{
+				int mid = (low + high) >>> 1;
+				if (compareSuffix(suffixes[mid], term) < 0)
+				{
+					low = mid + 1;
+				}
+				else
+				{
+					high = mid;
+				}
+			}
+			return low;
+		}
+		
+		private int compareSuffix(int suffix, String term)
+		{
+			String word = words[suffix >>> 8];
+			int offset = suffix & 0xFF;
+			int length = Math.min(word.length() - offset, term.length());
+			for (int i = 0; i < length; i++)
+			{
+				int diff = word.charAt(offset + i) - term.charAt(i);
+				if (diff != 0)
+				{
+					return diff;
+				}
+			}
+			return (word.length() - offset) - term.length();
+		}
+		
+		private boolean suffixStartsWith(int suffix, String term)
+		{
+			String word = words[suffix >>> 8];
+			int offset = suffix & 0xFF;
+			return word.startsWith(term, offset);
+		}
+	}
+}
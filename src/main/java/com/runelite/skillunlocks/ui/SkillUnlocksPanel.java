@@ -1,15 +1,19 @@
 package com.runelite.skillunlocks.ui;
 
 import com.runelite.skillunlocks.SkillUnlocksConfig;
+import com.runelite.skillunlocks.domain.model.PlayerState;
 import com.runelite.skillunlocks.domain.model.SkillData;
 import com.runelite.skillunlocks.domain.model.SkillUnlock;
+import com.runelite.skillunlocks.domain.repository.SkillFetchScheduler;
 import com.runelite.skillunlocks.domain.repository.UnlockRepository;
 import com.runelite.skillunlocks.constants.UIConstants;
+import com.runelite.skillunlocks.service.search.UnlockSearchIndex;
 import com.runelite.skillunlocks.ui.components.controls.PillFilterBar;
 import com.runelite.skillunlocks.ui.panels.SkillSelectorPanel;
 import com.runelite.skillunlocks.ui.panels.ProgressPanel;
 import com.runelite.skillunlocks.ui.panels.SearchBarPanel;
 import com.runelite.skillunlocks.ui.panels.UnlockListPanel;
+import com.runelite.skillunlocks.util.UnlockFilterUtil;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
 import net.runelite.api.Skill;
@@ -27,7 +31,6 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.util.*;
 import java.util.List;
-import java.util.stream.Collectors;
 import java.io.Serializable;
 
 @Slf4j
@@ -50,7 +53,10 @@ public class SkillUnlocksPanel extends PluginPanel implements Serializable
 	
 	// State
 	private Skill selectedSkill = null;
+	// Data the unlock cards were built from, searched when the search text changes
+	private SkillData displayedSkillData = null;
 	private final Map<Skill, Integer> playerLevels = new HashMap<>();
+	private PlayerState playerState = PlayerState.UNKNOWN;
 	private javax.swing.Timer refreshButtonResetTimer;
 	
 	public SkillUnlocksPanel(Client client, SkillUnlocksConfig config, UnlockRepository repository,
@@ -82,7 +88,7 @@ public class SkillUnlocksPanel extends PluginPanel implements Serializable
 		headerPanel.setBorder(new EmptyBorder(10, 10, 10, 10));
 		
 		// Skill selector panel
-		skillSelectorPanel = new SkillSelectorPanel(skillIconManager, this::onSkillSelected, playerLevels);
+		skillSelectorPanel = new SkillSelectorPanel(skillIconManager, this::onSkillSelected, this::onSkillHovered, playerLevels);
 		headerPanel.add(skillSelectorPanel);
 		
 		// Progress panel
@@ -203,7 +209,7 @@ public class SkillUnlocksPanel extends PluginPanel implements Serializable
 	
 	private void loadData()
 	{
-		repository.initialize(config.refreshOnStartup(), config.cacheExpiry());
+		repository.initialize(config.refreshOnStartup(), config.cacheExpiry(), Skill.ATTACK);
 		updatePlayerStats();
 		
 		// Select Attack skill by default after initialization
@@ -216,35 +222,54 @@ public class SkillUnlocksPanel extends PluginPanel implements Serializable
 		updateContentForSkill(skill);
 	}
 	
+	private void onSkillHovered(Skill skill)
+	{
+		// Warm up the hovered skill so it is likely loaded by the time it is picked
+		repository.loadSkillData(skill, SkillFetchScheduler.Priority.HOVERED);
+	}
+	
 	private void updateContentForSkill(Skill skill)
 	{
 		if (skill == null)
 		{
+			displayedSkillData = null;
 			unlockListPanel.showStatus("Select a skill to view unlocks");
 			progressPanel.reset();
 			return;
 		}
 		
 		SkillData skillData = repository.getSkillData(skill);
-		if (skillData == null || skillData.getAllUnlocks().isEmpty())
+		if (skillData == null || skillData.getUnlockCount() == 0)
 		{
+			displayedSkillData = null;
 			unlockListPanel.showStatus("Loading data for " + skill.getName() + "...");
 			progressPanel.reset();
 			
-			// Trigger async load
-			SwingUtilities.invokeLater(() -> {
-				// Data should be loaded by repository
+			// Attaches to the fetch already running for this skill, if any
+			repository.loadSkillData(skill).thenAccept(data -> SwingUtilities.invokeLater(() -> {
+				if (skill != selectedSkill)
+				{
+					return;
+				}
+				
+				if (data == null)
+				{
+					unlockListPanel.showStatus("Failed to load data for " + skill.getName());
+					return;
+				}
+				
 				updateContentForSkill(skill);
-			});
+			}));
 			return;
 		}
 		
 		// Group unlocks by level ranges
-		Map<String, List<SkillUnlock>> groupedUnlocks = groupUnlocksByLevelRange(skillData.getAllUnlocks());
+		Map<String, List<SkillUnlock>> groupedUnlocks = UnlockFilterUtil.groupUnlocksByLevelRange(skillData);
 		int playerLevel = playerLevels.getOrDefault(skill, 1);
 		
 		// Update unlock list
-		unlockListPanel.updateContent(groupedUnlocks, playerLevel, skill);
+		displayedSkillData = skillData;
+		unlockListPanel.updateContent(groupedUnlocks, playerLevel, skillData, playerState);
 		
 		// Update progress gauge
 		updateProgress(skill, skillData);
@@ -253,80 +278,42 @@ public class SkillUnlocksPanel extends PluginPanel implements Serializable
 		filterContent();
 	}
 	
-	private Map<String, List<SkillUnlock>> groupUnlocksByLevelRange(List<SkillUnlock> unlocks)
-	{
-		Map<String, List<SkillUnlock>> grouped = new LinkedHashMap<>();
-		
-		// Sort unlocks by level
-		List<SkillUnlock> sorted = new ArrayList<>(unlocks);
-		sorted.sort(Comparator.comparingInt(SkillUnlock::getLevel));
-		
-		// Define milestone ranges
-		int[] milestones = {1, 10, 25, 50, 75, 99};
-		
-		for (int i = 0; i < milestones.length; i++)
-		{
-			int start = milestones[i];
-			int end = (i < milestones.length - 1) ? milestones[i + 1] - 1 : 99;
-			
-			String range;
-			if (start == 1)
-			{
-				range = "Levels 1-9";
-			}
-			else if (start == end)
-			{
-				range = "Level " + start;
-			}
-			else
-			{
-				range = "Levels " + start + "-" + end;
-			}
-			
-			List<SkillUnlock> rangeUnlocks = sorted.stream()
-				.filter(u -> u.getLevel() >= start && u.getLevel() <= end)
-				.collect(Collectors.toList());
-			
-			if (!rangeUnlocks.isEmpty())
-			{
-				grouped.put(range, rangeUnlocks);
-			}
-		}
-		
-		return grouped;
-	}
-	
-	
 	private void updateProgress(Skill skill, SkillData skillData)
 	{
 		int playerLevel = playerLevels.getOrDefault(skill, 1);
-		int unlockedCount = 0;
-		Integer nextUnlockLevel = null;
+		int nextUnlockLevel = skillData.getNextUnlockLevel(playerLevel);
 		
-		List<SkillUnlock> allUnlocks = skillData.getAllUnlocks();
-		for (SkillUnlock unlock : allUnlocks)
-		{
-			if (unlock.getLevel() <= playerLevel)
-			{
-				unlockedCount++;
-			}
-			else if (nextUnlockLevel == null || unlock.getLevel() < nextUnlockLevel)
-			{
-				nextUnlockLevel = unlock.getLevel();
-			}
-		}
-		
-		progressPanel.updateProgress(skill, playerLevel, unlockedCount, allUnlocks.size(), nextUnlockLevel);
+		progressPanel.updateProgress(skill, playerLevel, skillData.getUnlockCountUpToLevel(playerLevel),
+			skillData.getUnlockCount(), nextUnlockLevel >= 0 ? nextUnlockLevel : null);
 	}
 	
 	private void filterContent()
 	{
-		String searchText = searchBarPanel.getSearchText().toLowerCase().trim();
+		String searchText = searchBarPanel.getSearchText().trim();
 		PillFilterBar.FilterType filterType = filterBar.getSelectedFilter();
 		int playerLevel = playerLevels.getOrDefault(selectedSkill, 1);
 		
+		// Search the index of the data on display, the cards are not read
+		BitSet searchMatches = null;
+		int[] ranking = null;
+		if (!searchText.isEmpty() && displayedSkillData != null)
+		{
+			UnlockSearchIndex searchIndex = repository.getSearchIndex();
+			searchMatches = searchIndex.search(displayedSkillData, searchText);
+			if (searchMatches.isEmpty())
+			{
+				// Nothing contains the text, fall back to words spelled like it, best matches first
+				ranking = searchIndex.searchRanked(displayedSkillData, searchText, playerLevel);
+				for (int index : ranking)
+				{
+					searchMatches.set(index);
+				}
+			}
+		}
+		
 		// Filter content in unlock list
-		unlockListPanel.filterContent(searchText, filterType, playerLevel);
+		unlockListPanel.filterContent(searchMatches, filterType, playerLevel);
+		unlockListPanel.orderContent(ranking);
 		
 		// Update result count
 		int[] counts = unlockListPanel.countVisibleUnlocks();
@@ -405,6 +392,7 @@ public class SkillUnlocksPanel extends PluginPanel implements Serializable
 			}
 		}
 		
+		playerState = new PlayerState(playerLevels);
 		skillSelectorPanel.updatePlayerLevels(playerLevels);
 		
 		if (selectedSkill != null)
@@ -445,5 +433,6 @@ public class SkillUnlocksPanel extends PluginPanel implements Serializable
 		// Clear references
 		selectedSkill = null;
 		playerLevels.clear();
+		playerState = PlayerState.UNKNOWN;
 	}
 }
\ No newline at end of file
@@ -12,6 +12,7 @@ import java.awt.event.MouseEvent;
 import java.awt.geom.Path2D;
 import java.awt.geom.RoundRectangle2D;
 import java.io.Serializable;
+import java.util.List;
 
 public class MilestoneCard extends JPanel implements Serializable
 {
@@ -358,6 +359,19 @@ public class MilestoneCard extends JPanel implements Serializable
 	{
 		contentPanel.removeAll();
 	}
+	
+	/**
+	 * Shows the content components in the given order
+	 */
+	public void reorderContent(List<? extends Component> components)
+	{
+		contentPanel.removeAll();
+		for (Component component : components)
+		{
+			addContent(component);
+		}
+		contentPanel.revalidate();
+	}
 
 	/**
 	 * Cleanup method to stop timers and release resources
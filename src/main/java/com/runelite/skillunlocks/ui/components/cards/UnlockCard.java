@@ -1,6 +1,8 @@
 package com.runelite.skillunlocks.ui.components.cards;
 
+import com.runelite.skillunlocks.domain.model.PlayerState;
 import com.runelite.skillunlocks.domain.model.SkillUnlock;
+import com.runelite.skillunlocks.domain.model.UnlockRequirement;
 import lombok.Getter;
 import net.runelite.client.ui.ColorScheme;
 import net.runelite.client.ui.FontManager;
@@ -16,6 +18,7 @@ import java.awt.event.MouseMotionAdapter;
 import java.awt.geom.Arc2D;
 import java.awt.geom.RoundRectangle2D;
 import java.io.Serializable;
+import java.util.List;
 
 @Slf4j
 public class UnlockCard extends JPanel implements Serializable
@@ -42,6 +45,8 @@ public class UnlockCard extends JPanel implements Serializable
     private final SkillUnlock unlock;
 	private final int playerLevel;
 	private final net.runelite.api.Skill skill;
+	// Whether each requirement entry is met, checked once instead of on every paint
+	private final boolean[] requirementsMet;
 	private boolean isHovered = false;
 	private boolean isExpanded = false;
 	private boolean isPressed = false;
@@ -57,12 +62,19 @@ public class UnlockCard extends JPanel implements Serializable
 	private boolean xpHovered = false;
 	private MouseAdapter mouseAdapter;
 	
-	public UnlockCard(SkillUnlock unlock, int playerLevel, net.runelite.api.Skill skill)
+	public UnlockCard(SkillUnlock unlock, int playerLevel, net.runelite.api.Skill skill, PlayerState playerState)
 	{
 		this.unlock = unlock;
 		this.playerLevel = playerLevel;
 		this.skill = skill;
 		
+		List<UnlockRequirement> requirements = unlock.getRequirementEntries();
+		requirementsMet = new boolean[requirements.size()];
+		for (int i = 0; i < requirementsMet.length; i++)
+		{
+			requirementsMet[i] = requirements.get(i).isMet(playerState);
+		}
+		
 		setLayout(null);
 		setOpaque(false);
 		setPreferredSize(new Dimension(0, CARD_HEIGHT + SHADOW_SIZE * 2));
@@ -338,7 +350,7 @@ public class UnlockCard extends JPanel implements Serializable
 		drawTypeBadge(g2d, x, contentY + 25, unlock.getType());
 		
 		// Members indicator
-		if ("Members only".equals(unlock.getDescription()))
+		if (unlock.isMembers())
 		{
 			drawMembersBadge(g2d, x + getTypeBadgeWidth(g2d, unlock.getType()) + 8, contentY + 25);
 		}
@@ -424,22 +436,20 @@ public class UnlockCard extends JPanel implements Serializable
 		contentY += 35;
 		
 		// Requirements section with better formatting
-		if (!unlock.getRequirements().isEmpty())
+		List<UnlockRequirement> requirements = unlock.getRequirementEntries();
+		if (!requirements.isEmpty())
 		{
 			g2d.setColor(new Color(255, 200, 100));
 			g2d.drawString("Requirements:", x + 10, contentY);
 			contentY += 15;
 			
 			g2d.setColor(new Color(200, 200, 200));
-			String[] reqLines = unlock.getRequirements().split(",");
-			for (String req : reqLines)
+			for (int i = 0; i < requirements.size(); i++)
 			{
-				String trimmedReq = req.trim();
-				// Check if requirement is met (simplified check)
-				boolean reqMet = checkRequirementMet(trimmedReq);
+				boolean reqMet = requirementsMet[i];
 				g2d.setColor(reqMet ? new Color(100, 255, 100) : new Color(200, 200, 200));
 				String prefix = reqMet ? "✓ " : "• ";
-				g2d.drawString(prefix + trimmedReq, x + 20, contentY);
+				g2d.drawString(prefix + requirements.get(i).getText(), x + 20, contentY);
 				contentY += 15;
 			}
 			contentY += 5;
@@ -554,7 +564,7 @@ public class UnlockCard extends JPanel implements Serializable
 		sb.append("<b>").append(unlock.getName()).append("</b><br>");
 		sb.append("Level ").append(unlock.getLevel());
 		
-		if ("Members only".equals(unlock.getDescription()))
+		if (unlock.isMembers())
 		{
 			sb.append(" (Members)");
 		}
@@ -690,10 +700,10 @@ public class UnlockCard extends JPanel implements Serializable
 	{
 		int height = 60; // Base height for action buttons and padding
 		
-		if (!unlock.getRequirements().isEmpty())
+		int requirementCount = unlock.getRequirementEntries().size();
+		if (requirementCount > 0)
 		{
-			String[] reqs = unlock.getRequirements().split(",");
-			height += 20 + (reqs.length * 15); // Header + lines
+			height += 20 + (requirementCount * 15); // Header + lines
 		}
 		
 		// Additional info section
@@ -815,27 +825,6 @@ public class UnlockCard extends JPanel implements Serializable
 		}
 	}
 	
-	private boolean checkRequirementMet(String requirement)
-	{
-		// Simple check - in a real implementation this would check actual player stats
-		// For now, just check if it contains a number and compare to player level
-		String[] parts = requirement.split(" ");
-		for (String part : parts)
-		{
-			try
-			{
-				int reqLevel = Integer.parseInt(part);
-				// Assume it's a level requirement
-				return playerLevel >= reqLevel;
-			}
-			catch (NumberFormatException e)
-			{
-				// Not a number, continue
-			}
-		}
-		return false; // Can't determine, assume not met
-	}
-	
 	private int calculateXPNeeded()
 	{
 		// Calculate XP needed to reach the unlock level
@@ -27,16 +27,19 @@ public class SkillSelector extends JPanel implements Serializable
 	
 	private final SkillIconManager skillIconManager;
 	private final Consumer<Skill> onSkillSelected;
+	private final Consumer<Skill> onSkillHovered;
 	private final Map<Skill, Integer> playerLevels;
 	private JComboBox<Skill> skillComboBox;
 	private Skill selectedSkill;
 	
 	public SkillSelector(SkillIconManager skillIconManager,
 						 Consumer<Skill> onSkillSelected,
+						 Consumer<Skill> onSkillHovered,
 						 Map<Skill, Integer> playerLevels)
 	{
 		this.skillIconManager = skillIconManager;
 		this.onSkillSelected = onSkillSelected;
+		this.onSkillHovered = onSkillHovered;
 		this.playerLevels = playerLevels;
 		
 		setLayout(new BorderLayout());
@@ -73,7 +76,7 @@ public class SkillSelector extends JPanel implements Serializable
 		));
 		
 		// Custom UI for modern look
-		skillComboBox.setUI(new ModernComboBoxUI());
+		skillComboBox.setUI(new ModernComboBoxUI(onSkillHovered));
 		
 		// Create container panel with vertical layout
 		JPanel containerPanel = new JPanel();
@@ -193,6 +196,13 @@ public class SkillSelector extends JPanel implements Serializable
 	
 	private static class ModernComboBoxUI extends BasicComboBoxUI
 	{
+		private final Consumer<Skill> onSkillHovered;
+		
+		ModernComboBoxUI(Consumer<Skill> onSkillHovered)
+		{
+			this.onSkillHovered = onSkillHovered;
+		}
+		
 		@Override
 		protected JButton createArrowButton()
 		{
@@ -229,6 +239,16 @@ public class SkillSelector extends JPanel implements Serializable
 			popup.getList().setBackground(DROPDOWN_BG);
 			popup.getList().setSelectionBackground(ColorScheme.BRAND_ORANGE);
 			popup.getList().setSelectionForeground(Color.WHITE);
+			
+			// The popup list selection follows the mouse, so it doubles as a hover signal
+			JList<?> list = popup.getList();
+			list.addListSelectionListener(e -> {
+				Object hovered = list.getSelectedValue();
+				if (!e.getValueIsAdjusting() && hovered instanceof Skill && onSkillHovered != null)
+				{
+					onSkillHovered.accept((Skill) hovered);
+				}
+			});
 			return popup;
 		}
 	}
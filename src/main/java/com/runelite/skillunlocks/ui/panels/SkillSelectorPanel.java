@@ -27,6 +27,7 @@ public class SkillSelectorPanel extends JPanel implements Serializable
 	
 	public SkillSelectorPanel(SkillIconManager skillIconManager, 
 							  Consumer<Skill> onSkillSelected,
+							  Consumer<Skill> onSkillHovered,
 							  Map<Skill, Integer> playerLevels)
 	{
 		setLayout(new BorderLayout());
@@ -34,7 +35,7 @@ public class SkillSelectorPanel extends JPanel implements Serializable
 		setBorder(new EmptyBorder(10, 10, 10, 10));
 		
 		// Create and add skill selector
-		skillSelector = new SkillSelector(skillIconManager, onSkillSelected, playerLevels);
+		skillSelector = new SkillSelector(skillIconManager, onSkillSelected, onSkillHovered, playerLevels);
 		add(skillSelector, BorderLayout.CENTER);
 	}
 	
@@ -1,5 +1,7 @@
 package com.runelite.skillunlocks.ui.panels;
 
+import com.runelite.skillunlocks.domain.model.PlayerState;
+import com.runelite.skillunlocks.domain.model.SkillData;
 import com.runelite.skillunlocks.domain.model.SkillUnlock;
 import com.runelite.skillunlocks.ui.components.cards.MilestoneCard;
 import com.runelite.skillunlocks.ui.components.cards.UnlockCard;
@@ -14,6 +16,9 @@ import javax.swing.*;
 import java.awt.*;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -32,6 +37,10 @@ public class UnlockListPanel extends JPanel implements Serializable
 	private final JLabel statusLabel;
 	
 	private final List<MilestoneCard> milestoneCards = new ArrayList<>();
+	// Index in the skill's unlocks of each card's unlock, search results are looked up by it
+	private final Map<UnlockCard, Integer> unlockIndexes = new HashMap<>();
+	// Whether the cards are in the order of a ranked search rather than by level
+	private boolean ranked;
 	
 	public UnlockListPanel()
 	{
@@ -76,10 +85,14 @@ public class UnlockListPanel extends JPanel implements Serializable
 	
 	/**
 	 * Updates the content with grouped unlocks
+	 * 
+	 * @param groupedUnlocks Ranges of the skill's level-sorted unlocks, as grouped by
+	 *        {@link UnlockFilterUtil#groupUnlocksByLevelRange(SkillData)}
 	 */
 	public void updateContent(Map<String, List<SkillUnlock>> groupedUnlocks, 
-							  int playerLevel, Skill skill)
+							  int playerLevel, SkillData skillData, PlayerState playerState)
 	{
+		Skill skill = skillData.getSkill();
 		clearContent();
 		
 		// Add spacing at top
@@ -96,10 +109,14 @@ public class UnlockListPanel extends JPanel implements Serializable
 			
 			MilestoneCard card = new MilestoneCard(range, unlocks.size(), shouldExpand);
 			
+			// A range is contiguous in the skill's unlocks, starting after every unlock below its first level
+			int index = unlocks.isEmpty() ? 0 : skillData.getUnlockCountUpToLevel(unlocks.get(0).getLevel() - 1);
+			
 			// Add unlock cards to the milestone
 			for (SkillUnlock unlock : unlocks)
 			{
-				UnlockCard unlockCard = new UnlockCard(unlock, playerLevel, skill);
+				UnlockCard unlockCard = new UnlockCard(unlock, playerLevel, skill, playerState);
+				unlockIndexes.put(unlockCard, index++);
 				card.addContent(unlockCard);
 			}
 			
@@ -114,8 +131,10 @@ public class UnlockListPanel extends JPanel implements Serializable
 	
 	/**
 	 * Filters the displayed content based on search and filter criteria
+	 * 
+	 * @param searchMatches Indexes in the skill's unlocks of the search results, null when not searching
 	 */
-	public void filterContent(String searchText, PillFilterBar.FilterType filterType, 
+	public void filterContent(BitSet searchMatches, PillFilterBar.FilterType filterType, 
 							  int playerLevel)
 	{
 		if (milestoneCards.isEmpty())
@@ -132,8 +151,8 @@ public class UnlockListPanel extends JPanel implements Serializable
 				if (component instanceof UnlockCard)
 				{
 					UnlockCard unlockCard = (UnlockCard) component;
-					boolean visible = UnlockFilterUtil.shouldShowUnlock(
-						unlockCard.getUnlock(), searchText, filterType, playerLevel);
+					boolean visible = (searchMatches == null || searchMatches.get(unlockIndexes.get(unlockCard)))
+						&& UnlockFilterUtil.matchesFilterType(unlockCard.getUnlock(), filterType, playerLevel);
 					unlockCard.setVisible(visible);
 					
 					if (visible)
@@ -147,7 +166,7 @@ public class UnlockListPanel extends JPanel implements Serializable
 			card.setVisible(hasVisibleContent);
 			
 			// Auto-expand cards with search results
-			if (hasVisibleContent && !searchText.isEmpty())
+			if (hasVisibleContent && searchMatches != null)
 			{
 				card.setExpanded(true);
 			}
@@ -157,6 +176,68 @@ public class UnlockListPanel extends JPanel implements Serializable
 		contentPanel.repaint();
 	}
 	
+	/**
+	 * Orders the unlocks by a ranked search, best match first within each level
+	 * range and ranges by their best match, or puts them back in level order
+	 * 
+	 * @param ranking Indexes in the skill's unlocks, best match first, null for level order
+	 */
+	public void orderContent(int[] ranking)
+	{
+		if (milestoneCards.isEmpty() || (ranking == null && !ranked))
+		{
+			return;
+		}
+		ranked = ranking != null;
+		
+		// Unranked unlocks follow the ranked ones in level order
+		Map<Integer, Integer> ranks = new HashMap<>();
+		if (ranking != null)
+		{
+			for (int rank = 0; rank < ranking.length; rank++)
+			{
+				ranks.put(ranking[rank], rank);
+			}
+		}
+		Comparator<UnlockCard> byRank = Comparator
+			.comparingInt((UnlockCard card) -> ranks.getOrDefault(unlockIndexes.get(card), Integer.MAX_VALUE))
+			.thenComparingInt(unlockIndexes::get);
+		
+		Map<MilestoneCard, UnlockCard> bestCards = new HashMap<>();
+		for (MilestoneCard card : milestoneCards)
+		{
+			List<UnlockCard> unlockCards = new ArrayList<>();
+			for (Component component : card.getContentPanel().getComponents())
+			{
+				if (component instanceof UnlockCard)
+				{
+					unlockCards.add((UnlockCard) component);
+				}
+			}
+			unlockCards.sort(byRank);
+			card.reorderContent(unlockCards);
+			if (!unlockCards.isEmpty())
+			{
+				bestCards.put(card, unlockCards.get(0));
+			}
+		}
+		
+		List<MilestoneCard> orderedCards = new ArrayList<>(milestoneCards);
+		if (ranked)
+		{
+			orderedCards.sort(Comparator.comparing(bestCards::get, Comparator.nullsLast(byRank)));
+		}
+		contentPanel.removeAll();
+		contentPanel.add(Box.createVerticalStrut(10));
+		for (MilestoneCard card : orderedCards)
+		{
+			contentPanel.add(card);
+			contentPanel.add(Box.createVerticalStrut(5));
+		}
+		contentPanel.revalidate();
+		contentPanel.repaint();
+	}
+	
 	/**
 	 * Shows a status message in the content area
 	 */
@@ -182,6 +263,8 @@ public class UnlockListPanel extends JPanel implements Serializable
 			card.cleanup();
 		}
 		milestoneCards.clear();
+		unlockIndexes.clear();
+		ranked = false;
 		contentPanel.removeAll();
 	}
 	
@@ -0,0 +1,160 @@
+package com.runelite.skillunlocks.util;
+
+/**
+ * Canonical copies of repeated strings, so every unlock sharing a value such
+ * as a requirement shares one String instance.
+ *
+ * Lookups take a range of any CharSequence and compare it in place, so a
+ * value already in the pool is returned without creating a String. The pool
+ * is split into independently locked stripes so parallel parse workers can
+ * intern at once, and is meant to be cleared once the data it loads is built.
+ */
+public final class StringPool
+{
+	private static final int STRIPE_BITS = 4;
+	private static final int INITIAL_CAPACITY = 64;
+	
+	// Each stripe locks on its own, so threads interning different values rarely wait on each other
+	private final Stripe[] stripes = new Stripe[1 << STRIPE_BITS];
+	
+	public StringPool()
+	{
+		for (int i = 0; i < stripes.length; i++)
+		{
+			stripes[i] = new Stripe();
+		}
+	}
+	
+	/**
+	 * @return The pooled string equal to the value, the value itself if it was not pooled yet
+	 */
+	public String intern(String value)
+	{
+		return value == null ? null : intern(value, 0, value.length());
+	}
+	
+	/**
+	 * @return The pooled string equal to text[start, end), created only if it was not pooled yet
+	 */
+	public String intern(CharSequence text, int start, int end)
+	{
+		if (start == end)
+		{
+			return "";
+		}
+		
+		int hash = 0;
+		for (int i = start; i < end; i++)
+		{
+			hash = 31 * hash + text.charAt(i);
+		}
+		
+		int spread = spread(hash);
+		return stripes[spread >>> (Integer.SIZE - STRIPE_BITS)].intern(text, start, end, hash, spread);
+	}
+	
+	public int size()
+	{
+		int size = 0;
+		for (Stripe stripe : stripes)
+		{
+			size += stripe.size();
+		}
+		return size;
+	}
+	
+	/**
+	 * Drops every pooled string. Strings handed out before stay shared, later
+	 * ones are pooled afresh; call once a load is done so the pool does not
+	 * hold on to values the data no longer uses.
+	 */
+	public void clear()
+	{
+		for (Stripe stripe : stripes)
+		{
+			stripe.clear();
+		}
+	}
+	
+	private static int spread(int hash)
+	{
+		return hash ^ (hash >>> 16) ^ (hash << 16);
+	}
+	
+	private static boolean contentEquals(String pooled, CharSequence text, int start, int end)
+	{
+		if (pooled.length() != end - start)
+		{
+			return false;
+		}
+		for (int i = 0; i < pooled.length(); i++)
+		{
+			if (pooled.charAt(i) != text.charAt(start + i))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	// Open addressing with linear probing, kept at most half full
+	private static final class Stripe
+	{
+		private String[] table = new String[INITIAL_CAPACITY];
+		private int size;
+		
+		synchronized String intern(CharSequence text, int start, int end, int hash, int spread)
+		{
+			int mask = table.length - 1;
+			int slot = spread & mask;
+			for (String pooled = table[slot]; pooled != null; pooled = table[slot])
+			{
+				if (pooled.hashCode() == hash && contentEquals(pooled, text, start, end))
+				{
+					return pooled;
+				}
+				slot = (slot + 1) & mask;
+			}
+			
+			String value = text instanceof String && start == 0 && end == text.length()
+				? (String) text
+				: text.subSequence(start, end).toString();
+			table[slot] = value;
+			if (++size * 2 > table.length)
+			{
+				resize();
+			}
+			return value;
+		}
+		
+		synchronized int size()
+		{
+			return size;
+		}
+		
+		synchronized void clear()
+		{
+			table = new String[INITIAL_CAPACITY];
+			size = 0;
+		}
+		
+		private void resize()
+		{
+			String[] old = table;
+			table = new String[old.length * 2];
+			int mask = table.length - 1;
+			for (String pooled : old)
+			{
+				if (pooled != null)
+				{
+					int slot = spread(pooled.hashCode()) & mask;
+					while (table[slot] != null)
+					{
+						slot = (slot + 1) & mask;
+					}
+					table[slot] = pooled;
+				}
+			}
+		}
+	}
+}
@@ -1,94 +1,106 @@
 package com.runelite.skillunlocks.util;
 
+import com.runelite.skillunlocks.domain.model.SkillData;
 import com.runelite.skillunlocks.domain.model.SkillUnlock;
 import com.runelite.skillunlocks.ui.components.controls.PillFilterBar;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Utility class for filtering skill unlocks
  */
 public final class UnlockFilterUtil
 {
+	// Milestone level ranges unlocks are grouped into, each runs up to the next
+	private static final int[] MILESTONES = {1, 10, 25, 50, 75, 99};
+	
 	// Prevent instantiation
 	private UnlockFilterUtil() {}
 	
 	/**
-	 * Check if an unlock should be shown based on search text and filter criteria
+	 * Check if an unlock matches the filter type, the search text is matched by
+	 * {@link com.runelite.skillunlocks.service.search.UnlockSearchIndex}
 	 * 
 	 * @param unlock The skill unlock to check
-	 * @param searchText The search text (already lowercase)
 	 * @param filterType The filter type to apply
 	 * @param playerLevel The player's current level in the skill
 	 * @return true if the unlock should be shown, false otherwise
 	 */
-	public static boolean shouldShowUnlock(SkillUnlock unlock, String searchText, 
-										   PillFilterBar.FilterType filterType, int playerLevel)
-	{
-		// Apply text search filter
-		if (!matchesSearchText(unlock, searchText))
-		{
-			return false;
-		}
-		
-		// Apply type filter
-		return matchesFilterType(unlock, filterType, playerLevel);
-	}
-	
-	/**
-	 * Check if an unlock matches the search text
-	 */
-	private static boolean matchesSearchText(SkillUnlock unlock, String searchText)
-	{
-		if (searchText == null || searchText.isEmpty())
-		{
-			return true;
-		}
-		
-		String combined = (unlock.getName() + " " + 
-						   unlock.getDescription() + " " + 
-						   unlock.getRequirements()).toLowerCase();
-		return combined.contains(searchText);
-	}
-	
-	/**
-	 * Check if an unlock matches the filter type
-	 */
-	private static boolean matchesFilterType(SkillUnlock unlock, PillFilterBar.FilterType filterType, int playerLevel)
+	public static boolean matchesFilterType(SkillUnlock unlock, PillFilterBar.FilterType filterType, int playerLevel)
 	{
 		switch (filterType)
 		{
 			case ALL:
 				return true;
-				
+			
 			case NEXT_5:
 				return unlock.getLevel() > playerLevel && unlock.getLevel() <= playerLevel + 5;
-				
+			
 			case UNLOCKED:
 				return unlock.getLevel() <= playerLevel;
-				
+			
 			case LOCKED:
 				return unlock.getLevel() > playerLevel;
-				
+			
 			case ITEMS:
 				return unlock.getType() == SkillUnlock.UnlockType.ITEM;
-				
+			
 			case QUESTS:
 				return unlock.getType() == SkillUnlock.UnlockType.QUEST;
-				
+			
 			case ACTIVITIES:
 				return unlock.getType() == SkillUnlock.UnlockType.ACTIVITY || 
 					   unlock.getType() == SkillUnlock.UnlockType.LOCATION;
-					   
+			
 			case OTHER:
 				return unlock.getType() == SkillUnlock.UnlockType.ABILITY ||
 					   unlock.getType() == SkillUnlock.UnlockType.SPELL ||
 					   unlock.getType() == SkillUnlock.UnlockType.PRAYER ||
 					   unlock.getType() == SkillUnlock.UnlockType.OTHER;
-					   
+			
 			default:
 				return true;
 		}
 	}
 	
+	private static String getRangeLabel(int start, int end)
+	{
+		if (start == 1)
+		{
+			return "Levels 1-9";
+		}
+		else if (start == end)
+		{
+			return "Level " + start;
+		}
+		return "Levels " + start + "-" + end;
+	}
+	
+	/**
+	 * Group unlocks into milestone level ranges for display, taking each range
+	 * as a view of the skill's level-sorted unlocks
+	 * 
+	 * @param skillData The skill to group
+	 * @return Unlocks keyed by range label, in level order, empty ranges omitted
+	 */
+	public static Map<String, List<SkillUnlock>> groupUnlocksByLevelRange(SkillData skillData)
+	{
+		Map<String, List<SkillUnlock>> grouped = new LinkedHashMap<>();
+		for (int i = 0; i < MILESTONES.length; i++)
+		{
+			int start = MILESTONES[i];
+			int end = (i < MILESTONES.length - 1) ? MILESTONES[i + 1] - 1 : 99;
+			List<SkillUnlock> rangeUnlocks = skillData.getUnlocksInLevelRange(start, end);
+			if (!rangeUnlocks.isEmpty())
+			{
+				grouped.put(getRangeLabel(start, end), rangeUnlocks);
+			}
+		}
+		return grouped;
+	}
+	
 	/**
 	 * Determine if a level group should be expanded based on player level
 	 * 
@@ -0,0 +1,223 @@
+package com.runelite.skillunlocks.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process wiki API server for offline load tests and benchmarks.
+ * Serves api.php query responses rendered from a fixture directory and can
+ * inject latency, server errors and 429 throttling. As a {@link WikiSource}
+ * it talks to itself through a real {@link WikiHttpClient}, so the whole HTTP
+ * path including rate limiting and retries is exercised.
+ */
+public class MockWikiServer implements WikiSource, AutoCloseable
+{
+	private final FixtureWikiSource fixtures;
+	private final HttpServer server;
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+	private final WikiHttpClient client;
+	private final AtomicInteger requestCount = new AtomicInteger();
+	
+	private volatile long latencyMs;
+	private volatile double errorRate;
+	private volatile double throttleRate;
+	private volatile double malformedRate;
+	private volatile int retryAfterSeconds = 1;
+	
+	/**
+	 * Starts a server on a free loopback port
+	 *
+	 * @param fixtureDirectory Directory of {@code <title>.wiki} fixtures
+	 * @param httpClient Client the wiki client is derived from
+	 * @param burst Rate limiter burst of the wiki client
+	 * @param requestsPerSecond Rate limiter sustained rate of the wiki client
+	 */
+	public MockWikiServer(Path fixtureDirectory, OkHttpClient httpClient, int burst, double requestsPerSecond) throws IOException
+	{
+		this.fixtures = new FixtureWikiSource(fixtureDirectory);
+		this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		this.server.createContext("/api.php", this::handle);
+		this.server.setExecutor(executor);
+		this.server.start();
+		
+		this.client = new WikiHttpClient(httpClient, getApiUrl(), null, burst, requestsPerSecond);
+	}
+	
+	public String getApiUrl()
+	{
+		return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/api.php";
+	}
+	
+	/**
+	 * Delay added before every response
+	 */
+	public void setLatencyMs(long latencyMs)
+	{
+		this.latencyMs = latencyMs;
+	}
+	
+	/**
+	 * Fraction of requests answered with HTTP 503
+	 */
+	public void setErrorRate(double errorRate)
+	{
+		this.errorRate = errorRate;
+	}
+	
+	/**
+	 * Fraction of requests answered with HTTP 429 and a Retry-After header
+	 */
+	public void setThrottleRate(double throttleRate, int retryAfterSeconds)
+	{
+		this.throttleRate = throttleRate;
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+	
+	/**
+	 * Fraction of requests answered with HTTP 200 and a body that is not JSON
+	 */
+	public void setMalformedRate(double malformedRate)
+	{
+		this.malformedRate = malformedRate;
+	}
+	
+	public int getRequestCount()
+	{
+		return requestCount.get();
+	}
+	
+	private void handle(HttpExchange exchange) throws IOException
+	{
+		requestCount.incrementAndGet();
+		
+		try
+		{
+			if (latencyMs > 0)
+			{
+				Thread.sleep(latencyMs);
+			}
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+		
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		if (random.nextDouble() < errorRate)
+		{
+			send(exchange, 503, "{\"error\":{\"code\":\"internal_api_error\"}}");
+			return;
+		}
+		
+		if (random.nextDouble() < throttleRate)
+		{
+			exchange.getResponseHeaders().add("Retry-After", String.valueOf(retryAfterSeconds));
+			send(exchange, 429, "{\"error\":{\"code\":\"ratelimited\"}}");
+			return;
+		}
+		
+		if (random.nextDouble() < malformedRate)
+		{
+			send(exchange, 200, "{\"query\":{\"pages\":<html>Bad gateway</html>");
+			return;
+		}
+		
+		Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+		if (params.containsKey("meta"))
+		{
+			send(exchange, 200, "{\"batchcomplete\":\"\",\"query\":{\"general\":{\"sitename\":\"Mock Wiki\"}}}");
+			return;
+		}
+		
+		List<String> titles = Arrays.asList(params.getOrDefault("titles", "").split("\\|"));
+		boolean includeContent = params.getOrDefault("rvprop", "").contains("content");
+		send(exchange, 200, fixtures.renderQueryResponse(titles, includeContent));
+	}
+	
+	private static void send(HttpExchange exchange, int status, String body) throws IOException
+	{
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream out = exchange.getResponseBody())
+		{
+			out.write(bytes);
+		}
+	}
+	
+	private static Map<String, String> parseQuery(String rawQuery)
+	{
+		Map<String, String> params = new HashMap<>();
+		if (rawQuery == null)
+		{
+			return params;
+		}
+		
+		for (String pair : rawQuery.split("&"))
+		{
+			int equalsIndex = pair.indexOf('=');
+			if (equalsIndex > 0)
+			{
+				params.put(URLDecoder.decode(pair.substring(0, equalsIndex), StandardCharsets.UTF_8),
+					URLDecoder.decode(pair.substring(equalsIndex + 1), StandardCharsets.UTF_8));
+			}
+		}
+		return params;
+	}
+	
+	@Override
+	public <T> CompletableFuture<T> fetchWikiPageAsync(String pageName, ResponseBodyReader<T> bodyReader)
+	{
+		return client.fetchWikiPageAsync(pageName, bodyReader);
+	}
+	
+	@Override
+	public <T> CompletableFuture<T> fetchWikiPagesAsync(List<String> pageNames, ResponseBodyReader<T> bodyReader)
+	{
+		return client.fetchWikiPagesAsync(pageNames, bodyReader);
+	}
+	
+	@Override
+	public <T> CompletableFuture<T> fetchRevisionInfoAsync(List<String> pageNames, ResponseBodyReader<T> bodyReader)
+	{
+		return client.fetchRevisionInfoAsync(pageNames, bodyReader);
+	}
+	
+	@Override
+	public HttpCacheStats getCacheStats()
+	{
+		return client.getCacheStats();
+	}
+	
+	@Override
+	public void shutdown()
+	{
+		client.shutdown();
+		server.stop(0);
+		executor.shutdownNow();
+	}
+	
+	@Override
+	public void close()
+	{
+		shutdown();
+	}
+}
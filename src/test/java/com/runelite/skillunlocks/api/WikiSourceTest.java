@@ -0,0 +1,195 @@
+package com.runelite.skillunlocks.api;
+
+import com.runelite.skillunlocks.domain.model.PageRevision;
+import com.runelite.skillunlocks.domain.model.SkillData;
+import com.runelite.skillunlocks.service.parser.UnlockTypeClassifier;
+import com.runelite.skillunlocks.service.parser.WikiTextParser;
+import net.runelite.api.Skill;
+import okhttp3.OkHttpClient;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class WikiSourceTest
+{
+	private static final List<Skill> SKILLS = Arrays.asList(Skill.ATTACK, Skill.STRENGTH);
+	
+	private Path fixtureDirectory;
+	private WikiTextParser parser;
+	
+	@Before
+	public void setUp() throws Exception
+	{
+		fixtureDirectory = Paths.get(getClass().getResource("/fixtures").toURI());
+		parser = new WikiTextParser();
+	}
+	
+	@Test
+	public void testFixtureSource() throws IOException
+	{
+		WikiApiClient client = new WikiApiClient(new FixtureWikiSource(fixtureDirectory), parser);
+		Map<Skill, PageRevision> revisions = new EnumMap<>(Skill.class);
+		
+		Map<Skill, SkillData> data = client.fetchSkillData(SKILLS, revisions);
+		
+		assertEquals(2, data.size());
+		assertFalse(data.get(Skill.ATTACK).getAllUnlocks().isEmpty());
+		assertFalse(data.get(Skill.STRENGTH).getAllUnlocks().isEmpty());
+		assertEquals(2, revisions.size());
+		
+		// Metadata-only queries report the same revision as the content query
+		assertEquals(revisions, client.fetchRevisions(SKILLS));
+	}
+	
+	@Test
+	public void testTruncatedParseRecordsNoRevision() throws IOException
+	{
+		WikiTextParser budgeted = new WikiTextParser(UnlockTypeClassifier.loadDefault(), Duration.ofNanos(1));
+		WikiApiClient client = new WikiApiClient(new FixtureWikiSource(fixtureDirectory), budgeted);
+		Map<Skill, PageRevision> revisions = new EnumMap<>(Skill.class);
+		revisions.put(Skill.ATTACK, PageRevision.builder().revisionId(1L).timestamp(Instant.EPOCH).build());
+		
+		Map<Skill, SkillData> data = client.fetchSkillData(SKILLS, revisions);
+		
+		assertTrue(data.get(Skill.ATTACK).isTruncated());
+		assertTrue("A cut short page must be fetched again", revisions.isEmpty());
+		
+		assertTrue(client.fetchSkillData(Skill.STRENGTH, revisions).isTruncated());
+		assertFalse(revisions.containsKey(Skill.STRENGTH));
+	}
+	
+	@Test
+	public void testFixtureSourceMissingPage() throws IOException
+	{
+		WikiApiClient client = new WikiApiClient(new FixtureWikiSource(fixtureDirectory), parser);
+		
+		Map<Skill, SkillData> data = client.fetchSkillData(Arrays.asList(Skill.ATTACK, Skill.FARMING), null);
+		
+		assertTrue(data.containsKey(Skill.ATTACK));
+		assertFalse("Pages without a fixture are left for the fallback", data.containsKey(Skill.FARMING));
+	}
+	
+	@Test
+	public void testMockServerMatchesFixtures() throws IOException
+	{
+		Map<Skill, SkillData> expected = new WikiApiClient(new FixtureWikiSource(fixtureDirectory), parser)
+			.fetchSkillData(SKILLS, null);
+		
+		try (MockWikiServer server = new MockWikiServer(fixtureDirectory, new OkHttpClient(), 10, 100))
+		{
+			server.setLatencyMs(5);
+			Map<Skill, SkillData> actual = new WikiApiClient(server, parser).fetchSkillData(SKILLS, null);
+			
+			assertEquals(1, server.getRequestCount());
+			for (Skill skill : SKILLS)
+			{
+				assertEquals(expected.get(skill).getAllUnlocks().size(), actual.get(skill).getAllUnlocks().size());
+			}
+		}
+	}
+	
+	@Test
+	public void testMalformedResponseIsNotRetried() throws IOException
+	{
+		try (MockWikiServer server = new MockWikiServer(fixtureDirectory, new OkHttpClient(), 10, 100))
+		{
+			server.setMalformedRate(1.0);
+			try
+			{
+				new WikiApiClient(server, parser).fetchSkillData(SKILLS, null);
+				fail("Expected the malformed response to fail the request");
+			}
+			catch (IOException e)
+			{
+				// expected
+			}
+			assertEquals("The same body would come back, so it is not asked for again", 1, server.getRequestCount());
+			
+			// A wiki that answered does not count against the circuit
+			server.setMalformedRate(0);
+			assertEquals(2, new WikiApiClient(server, parser).fetchSkillData(SKILLS, null).size());
+		}
+	}
+	
+	@Test
+	public void testMockServerErrorsFailFast()
+	{
+		try (MockWikiServer server = new MockWikiServer(fixtureDirectory, new OkHttpClient(), 10, 100))
+		{
+			server.setErrorRate(1.0);
+			
+			long start = System.currentTimeMillis();
+			try
+			{
+				new WikiApiClient(server, parser).fetchSkillData(SKILLS, null);
+				fail("Expected the request to fail after retries");
+			}
+			catch (IOException e)
+			{
+				// expected
+			}
+			
+			assertEquals("Request should be retried up to the attempt limit", 3, server.getRequestCount());
+			assertTrue("Retries should cost seconds, not timeouts", System.currentTimeMillis() - start < 5000);
+			
+			// The circuit is now open, so further requests fail without reaching the server
+			try
+			{
+				new WikiApiClient(server, parser).fetchSkillData(SKILLS, null);
+				fail("Expected the open circuit to reject the request");
+			}
+			catch (IOException e)
+			{
+				// expected
+			}
+			assertEquals(3, server.getRequestCount());
+		}
+		catch (IOException e)
+		{
+			fail("Mock server failed to start: " + e.getMessage());
+		}
+	}
+	
+	@Test
+	public void testShutdownFailsPendingRetry() throws Exception
+	{
+		try (MockWikiServer server = new MockWikiServer(fixtureDirectory, new OkHttpClient(), 10, 100))
+		{
+			server.setThrottleRate(1.0, 20);
+			CompletableFuture<String> pending = server.fetchWikiPageAsync("Attack", body -> "unreachable");
+			
+			long deadline = System.currentTimeMillis() + 5000;
+			while (server.getRequestCount() == 0 && System.currentTimeMillis() < deadline)
+			{
+				Thread.sleep(10);
+			}
+			assertEquals(1, server.getRequestCount());
+			
+			// The retry waits on Retry-After, so only shutdown can complete the future in time
+			server.shutdown();
+			try
+			{
+				pending.get(1, TimeUnit.SECONDS);
+				fail("Expected shutdown to fail the pending retry");
+			}
+			catch (ExecutionException e)
+			{
+				assertTrue(e.getCause() instanceof IOException);
+			}
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package com.runelite.skillunlocks.cache;
+
+import com.google.gson.Gson;
+import com.runelite.skillunlocks.domain.model.SkillData;
+import com.runelite.skillunlocks.domain.model.SkillUnlock;
+import com.runelite.skillunlocks.util.StringPool;
+import net.runelite.api.Skill;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CacheSerializationTest
+{
+	@Test
+	public void testLegacyDescriptionBecomesMembersFlag()
+	{
+		Gson gson = CacheManager.createGson(false);
+		String json = "{\"skill\":\"ATTACK\",\"levelData\":{\"1\":{\"level\":1,\"unlocks\":["
+			+ "{\"level\":1,\"name\":\"Wield bronze swords\",\"description\":\"\",\"requirements\":\"\",\"type\":\"ITEM\"},"
+			+ "{\"level\":1,\"name\":\"Wield bronze claws\",\"description\":\"Members only\",\"requirements\":\"\",\"type\":\"ITEM\"}"
+			+ "]}}}";
+		
+		List<SkillUnlock> unlocks = gson.fromJson(json, SkillData.class).getAllUnlocks();
+		
+		assertFalse(unlocks.get(0).isMembers());
+		assertTrue(unlocks.get(1).isMembers());
+		assertEquals(SkillUnlock.MEMBERS_DESCRIPTION, unlocks.get(1).getDescription());
+	}
+	
+	@Test
+	public void testLoadedStringsArePooled()
+	{
+		StringPool pool = new StringPool();
+		Gson gson = CacheManager.createGson(false, pool);
+		SkillData data = SkillData.builder().skill(Skill.DEFENCE)
+			.unlock(SkillUnlock.builder().level(5).name("Wield steel defenders").members(true)
+				.requirements("Quest").type(SkillUnlock.UnlockType.ITEM).build())
+			.unlock(SkillUnlock.builder().level(10).name("Wield black defenders").members(true)
+				.requirements("Quest").type(SkillUnlock.UnlockType.ITEM).build())
+			.build();
+		
+		List<SkillUnlock> unlocks = gson.fromJson(gson.toJson(data), SkillData.class).getAllUnlocks();
+		
+		assertEquals(data.getAllUnlocks(), unlocks);
+		assertSame(unlocks.get(0).getRequirements(), unlocks.get(1).getRequirements());
+		assertSame(pool.intern("Quest"), unlocks.get(0).getRequirements());
+	}
+}
@@ -0,0 +1,65 @@
+package com.runelite.skillunlocks.domain.model;
+
+import net.runelite.api.Skill;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SkillDataTest
+{
+	private static SkillUnlock unlock(int level, String name)
+	{
+		return SkillUnlock.builder().level(level).name(name).type(SkillUnlock.UnlockType.ITEM).build();
+	}
+	
+	@Test
+	public void testLevelLookups()
+	{
+		SkillData data = SkillData.builder()
+			.skill(Skill.ATTACK)
+			.unlock(unlock(40, "Wield rune weapons"))
+			.unlock(unlock(1, "Wield bronze weapons"))
+			.unlock(unlock(40, "Wield rune defenders"))
+			.unlock(unlock(5, "Wield steel weapons"))
+			.build();
+		
+		assertEquals(4, data.getUnlockCount());
+		List<SkillUnlock> level40 = data.getUnlocksForLevel(40);
+		assertEquals(2, level40.size());
+		assertEquals("Wield rune weapons", level40.get(0).getName());
+		assertEquals("Wield rune defenders", level40.get(1).getName());
+		assertTrue(data.getUnlocksForLevel(39).isEmpty());
+		assertTrue(data.getUnlocksForLevel(200).isEmpty());
+		
+		assertEquals(5, data.getNextUnlockLevel(1));
+		assertEquals(40, data.getNextUnlockLevel(5));
+		assertEquals(-1, data.getNextUnlockLevel(40));
+		assertEquals(-1, data.getNextUnlockLevel(SkillData.MAX_LEVEL));
+		assertEquals(1, data.getNextUnlockLevel(-1));
+		assertEquals(level40, data.getNextUnlock(20));
+		
+		assertEquals(0, data.getUnlockCountUpToLevel(0));
+		assertEquals(2, data.getUnlockCountUpToLevel(39));
+		assertEquals(4, data.getUnlockCountUpToLevel(Integer.MAX_VALUE));
+		assertEquals(level40, data.getUnlocksInLevelRange(25, 49));
+		assertEquals(2, data.getUnlocksUpToLevel(39).size());
+		assertEquals(4, data.getUnlocksUpToLevel(99).size());
+		assertTrue(data.getUnlocksUpToLevel(0).isEmpty());
+	}
+	
+	@Test
+	public void testLevelsAboveMaxLevel()
+	{
+		SkillData data = SkillData.builder()
+			.skill(Skill.ATTACK)
+			.unlock(unlock(150, "Beyond the cap"))
+			.build();
+		
+		assertEquals(150, data.getNextUnlockLevel(99));
+		assertEquals(1, data.getUnlocksForLevel(150).size());
+		assertEquals(1, data.getUnlocksUpToLevel(500).size());
+	}
+}
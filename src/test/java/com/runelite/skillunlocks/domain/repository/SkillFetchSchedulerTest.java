@@ -0,0 +1,96 @@
+package com.runelite.skillunlocks.domain.repository;
+
+import net.runelite.api.Skill;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class SkillFetchSchedulerTest
+{
+	private final List<List<Skill>> batches = Collections.synchronizedList(new ArrayList<>());
+	private final CountDownLatch firstStarted = new CountDownLatch(1);
+	private final CountDownLatch releaseFirst = new CountDownLatch(1);
+	private final SkillFetchScheduler scheduler = new SkillFetchScheduler(this::load);
+	
+	/**
+	 * Records each batch and holds the first one until released, so the queue fills up behind it
+	 */
+	private void load(List<Skill> skills)
+	{
+		batches.add(skills);
+		firstStarted.countDown();
+		if (batches.size() == 1)
+		{
+			try
+			{
+				releaseFirst.await();
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+	
+	@After
+	public void tearDown()
+	{
+		releaseFirst.countDown();
+		scheduler.shutdown();
+	}
+	
+	@Test
+	public void testFetchesInPriorityOrder() throws Exception
+	{
+		CompletableFuture<Void> running = scheduler.schedule(Skill.ATTACK, SkillFetchScheduler.Priority.BACKGROUND);
+		assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+		
+		CompletableFuture<Void> background = scheduler.scheduleBackground(Arrays.asList(Skill.MINING, Skill.FISHING));
+		scheduler.schedule(Skill.COOKING, SkillFetchScheduler.Priority.HOVERED);
+		scheduler.schedule(Skill.WOODCUTTING, SkillFetchScheduler.Priority.SELECTED);
+		scheduler.schedule(Skill.AGILITY, SkillFetchScheduler.Priority.HOVERED);
+		// A skill already being fetched is waited for, not queued again
+		assertSame(running, scheduler.schedule(Skill.ATTACK, SkillFetchScheduler.Priority.SELECTED));
+		
+		releaseFirst.countDown();
+		background.get(5, TimeUnit.SECONDS);
+		
+		assertEquals(Arrays.asList(
+			Collections.singletonList(Skill.ATTACK),
+			Collections.singletonList(Skill.WOODCUTTING),
+			// The most recent hover wins among equals
+			Collections.singletonList(Skill.AGILITY),
+			Collections.singletonList(Skill.COOKING),
+			Arrays.asList(Skill.FISHING, Skill.MINING)), batches);
+		assertTrue(running.isDone());
+	}
+	
+	@Test
+	public void testShutdownCancelsQueuedAndRunningFetches() throws Exception
+	{
+		CompletableFuture<Void> running = scheduler.schedule(Skill.ATTACK, SkillFetchScheduler.Priority.SELECTED);
+		assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+		CompletableFuture<Void> queued = scheduler.schedule(Skill.MINING, SkillFetchScheduler.Priority.BACKGROUND);
+		
+		scheduler.shutdown();
+		
+		assertTrue(running.isCancelled());
+		assertTrue(queued.isCancelled());
+		assertTrue(scheduler.schedule(Skill.FISHING, SkillFetchScheduler.Priority.SELECTED).isCancelled());
+		
+		releaseFirst.countDown();
+		Thread.sleep(100);
+		assertEquals("Queued skills are not fetched after shutdown", 1, batches.size());
+	}
+}
@@ -0,0 +1,110 @@
+package com.runelite.skillunlocks.domain.repository;
+
+import com.runelite.skillunlocks.api.MockWikiServer;
+import com.runelite.skillunlocks.api.WikiApiClient;
+import com.runelite.skillunlocks.cache.CacheManager;
+import com.runelite.skillunlocks.domain.model.SkillData;
+import com.runelite.skillunlocks.service.parser.UnlockTypeClassifier;
+import com.runelite.skillunlocks.service.parser.WikiTextParser;
+import com.runelite.skillunlocks.util.StringPool;
+import net.runelite.api.Skill;
+import okhttp3.OkHttpClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class UnlockRepositoryTest
+{
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+	
+	private MockWikiServer server;
+	private UnlockRepository repository;
+	
+	@Before
+	public void setUp() throws Exception
+	{
+		server = new MockWikiServer(Paths.get(getClass().getResource("/fixtures").toURI()), new OkHttpClient(), 10, 100);
+		StringPool stringPool = new StringPool();
+		repository = new UnlockRepository(new WikiApiClient(server, new WikiTextParser()),
+			new CacheManager(stringPool, temporaryFolder.getRoot().toPath()), UnlockTypeClassifier.loadDefault(), stringPool);
+	}
+	
+	@After
+	public void tearDown()
+	{
+		// Shuts the mock server down with the wiki client
+		repository.shutdown();
+	}
+	
+	@Test
+	public void testConcurrentLoadsShareOneFetch() throws Exception
+	{
+		server.setLatencyMs(200);
+		
+		int callers = 8;
+		CountDownLatch start = new CountDownLatch(1);
+		List<CompletableFuture<SkillData>> loads = new ArrayList<>();
+		for (int i = 0; i < callers; i++)
+		{
+			CompletableFuture<SkillData> load = new CompletableFuture<>();
+			loads.add(load);
+			new Thread(() -> {
+				try
+				{
+					start.await();
+					repository.loadSkillData(Skill.ATTACK).whenComplete((data, e) -> {
+						if (e != null)
+						{
+							load.completeExceptionally(e);
+						}
+						else
+						{
+							load.complete(data);
+						}
+					});
+				}
+				catch (InterruptedException e)
+				{
+					load.completeExceptionally(e);
+				}
+			}).start();
+		}
+		start.countDown();
+		
+		SkillData first = loads.get(0).get(5, TimeUnit.SECONDS);
+		assertNotNull(first);
+		for (CompletableFuture<SkillData> load : loads)
+		{
+			assertSame(first, load.get(5, TimeUnit.SECONDS));
+		}
+		assertEquals("Concurrent callers should share a single wiki request", 1, server.getRequestCount());
+	}
+	
+	@Test
+	public void testFailedFetchReleasesInFlightLoad() throws Exception
+	{
+		server.setMalformedRate(1.0);
+		assertNull(repository.loadSkillData(Skill.ATTACK).get(5, TimeUnit.SECONDS));
+		
+		// A load left in flight would hand back the failed result instead of asking again
+		server.setMalformedRate(0);
+		int failedRequests = server.getRequestCount();
+		assertNotNull(repository.loadSkillData(Skill.ATTACK).get(5, TimeUnit.SECONDS));
+		assertEquals(failedRequests + 1, server.getRequestCount());
+	}
+}
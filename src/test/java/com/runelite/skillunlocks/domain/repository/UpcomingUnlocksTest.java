@@ -0,0 +1,90 @@
+package com.runelite.skillunlocks.domain.repository;
+
+import com.runelite.skillunlocks.domain.model.SkillData;
+import com.runelite.skillunlocks.domain.model.SkillUnlock;
+import com.runelite.skillunlocks.domain.model.UpcomingUnlock;
+import net.runelite.api.Experience;
+import net.runelite.api.Skill;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class UpcomingUnlocksTest
+{
+	private static SkillData skillData(Skill skill, int... levels)
+	{
+		SkillData.SkillDataBuilder builder = SkillData.builder().skill(skill);
+		for (int level : levels)
+		{
+			builder.unlock(SkillUnlock.builder().level(level).name(skill.getName() + " " + level)
+				.type(SkillUnlock.UnlockType.OTHER).build());
+		}
+		return builder.build();
+	}
+	
+	private static String names(List<UpcomingUnlock> upcoming)
+	{
+		StringBuilder names = new StringBuilder();
+		for (UpcomingUnlock unlock : upcoming)
+		{
+			if (names.length() > 0)
+			{
+				names.append(", ");
+			}
+			names.append(unlock.getUnlock().getName());
+		}
+		return names.toString();
+	}
+	
+	@Test
+	public void testMergesSkillsByExperienceRemaining()
+	{
+		UpcomingUnlocks upcomingUnlocks = new UpcomingUnlocks();
+		upcomingUnlocks.setSkillData(Skill.ATTACK, skillData(Skill.ATTACK, 1, 10, 20, 30));
+		upcomingUnlocks.setSkillData(Skill.MINING, skillData(Skill.MINING, 15, 40));
+		upcomingUnlocks.updateSkill(Skill.ATTACK, 10, Experience.getXpForLevel(10));
+		upcomingUnlocks.updateSkill(Skill.MINING, 14, Experience.getXpForLevel(15) - 5);
+		
+		List<UpcomingUnlock> upcoming = upcomingUnlocks.getUpcoming(3);
+		assertEquals("Mining 15, Attack 20, Attack 30", names(upcoming));
+		assertEquals(5, upcoming.get(0).getXpRemaining());
+		assertEquals(Skill.MINING, upcoming.get(0).getSkill());
+		assertEquals(Experience.getXpForLevel(20) - Experience.getXpForLevel(10), upcoming.get(1).getXpRemaining());
+		
+		assertEquals("Mining 15, Attack 20, Attack 30, Mining 40", names(upcomingUnlocks.getUpcoming(10)));
+		assertTrue(upcomingUnlocks.getUpcoming(0).isEmpty());
+	}
+	
+	@Test
+	public void testLevelsAheadLimitsEachSkill()
+	{
+		UpcomingUnlocks upcomingUnlocks = new UpcomingUnlocks();
+		upcomingUnlocks.setSkillData(Skill.ATTACK, skillData(Skill.ATTACK, 5, 12, 40));
+		upcomingUnlocks.setSkillData(Skill.COOKING, skillData(Skill.COOKING, 3, 60));
+		upcomingUnlocks.updateSkill(Skill.ATTACK, 8, Experience.getXpForLevel(8));
+		
+		// Cooking is still at level 1, so its level 3 unlock is within reach and its level 60 unlock is not
+		assertEquals("Cooking 3, Attack 12", names(upcomingUnlocks.getUpcoming(10, 5)));
+	}
+	
+	@Test
+	public void testUpdatesFollowSingleSkill()
+	{
+		UpcomingUnlocks upcomingUnlocks = new UpcomingUnlocks();
+		upcomingUnlocks.setSkillData(Skill.ATTACK, skillData(Skill.ATTACK, 5, 12));
+		upcomingUnlocks.setSkillData(Skill.COOKING, skillData(Skill.COOKING, 3));
+		assertEquals("Cooking 3, Attack 5, Attack 12", names(upcomingUnlocks.getUpcoming(10)));
+		
+		upcomingUnlocks.updateSkill(Skill.ATTACK, 5, Experience.getXpForLevel(5));
+		assertEquals("Cooking 3, Attack 12", names(upcomingUnlocks.getUpcoming(10)));
+		
+		upcomingUnlocks.setSkillData(Skill.COOKING, null);
+		assertEquals("Attack 12", names(upcomingUnlocks.getUpcoming(10)));
+		
+		upcomingUnlocks.clear();
+		assertTrue(upcomingUnlocks.getUpcoming(10).isEmpty());
+	}
+}
@@ -0,0 +1,61 @@
+package com.runelite.skillunlocks.service.parser;
+
+import com.runelite.skillunlocks.domain.model.SkillData;
+import net.runelite.api.Skill;
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Every input is a few megabytes; a parser doing quadratic work on any of
+ * them would take hours instead of milliseconds.
+ */
+public class PathologicalInputTest
+{
+	private static final int SIZE = 2_000_000;
+	
+	private final WikiTextParser parser = new WikiTextParser();
+	
+	@Test(timeout = 10000)
+	public void testParseTimeStaysBounded()
+	{
+		for (PathologicalWikiText.Kind kind : PathologicalWikiText.Kind.values())
+		{
+			String wikiText = PathologicalWikiText.generate(kind, SIZE);
+			long start = System.nanoTime();
+			parser.parseSkillPage(Skill.ATTACK, wikiText);
+			long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+			assertTrue(kind + " took " + elapsedMillis + " ms", elapsedMillis < WikiTextParser.DEFAULT_PARSE_BUDGET.toMillis());
+		}
+	}
+	
+	@Test(timeout = 10000)
+	public void testUnclosedTemplatesAreKeptAsText()
+	{
+		SkillData data = parser.parseSkillPage(Skill.ATTACK, PathologicalWikiText.generate(PathologicalWikiText.Kind.UNCLOSED_TEMPLATES, 100));
+		
+		assertEquals(1, data.getAllUnlocks().size());
+		assertTrue(data.getAllUnlocks().get(0).getName().startsWith("Wield {{a|{{a|"));
+	}
+	
+	@Test(timeout = 10000)
+	public void testParseBudgetKeepsPartialResult()
+	{
+		String wikiText = PathologicalWikiText.generate(PathologicalWikiText.Kind.LARGE_TABLE, SIZE);
+		SkillData complete = parser.parseSkillPage(Skill.ATTACK, wikiText);
+		
+		WikiTextParser budgeted = new WikiTextParser(UnlockTypeClassifier.loadDefault(), Duration.ofNanos(1));
+		SkillData partial = budgeted.parseSkillPage(Skill.ATTACK, wikiText);
+		
+		assertFalse(complete.getAllUnlocks().isEmpty());
+		assertFalse(complete.isTruncated());
+		assertTrue(partial.getAllUnlocks().size() + " of " + complete.getAllUnlocks().size(),
+			partial.getAllUnlocks().size() < complete.getAllUnlocks().size());
+		assertTrue(partial.isTruncated());
+		assertTrue(partial.getLevelHashes().isEmpty());
+	}
+}
@@ -0,0 +1,103 @@
+package com.runelite.skillunlocks.service.parser;
+
+/**
+ * Generates malformed and oversized wikitext that would make a backtracking
+ * or rescanning parser take super-linear time.
+ */
+public final class PathologicalWikiText
+{
+	public enum Kind
+	{
+		// {{plink|{{plink|...x}}}} nested as deep as the size allows
+		NESTED_TEMPLATES,
+		// {{a|{{a|... without any closing braces
+		UNCLOSED_TEMPLATES,
+		// [[a|[[a|... without any closing brackets
+		UNCLOSED_LINKS,
+		// An unlock followed by ((((... without a closing parenthesis
+		UNCLOSED_PARENTHESES,
+		// A requirement repeating the word Quest
+		REPEATED_QUEST,
+		// Parameters whose values open templates that never close
+		UNBALANCED_PARAMETERS,
+		// Many table headers and no closing line
+		UNCLOSED_TABLES,
+		// A well-formed table with thousands of parameters
+		LARGE_TABLE
+	}
+	
+	private static final String TABLE_START = "{{Level up table\n";
+	private static final String TABLE_END = "\n}}\n";
+	
+	private PathologicalWikiText() {}
+	
+	/**
+	 * @param kind The shape of the input
+	 * @param size Approximate length of the input in characters
+	 */
+	public static String generate(Kind kind, int size)
+	{
+		StringBuilder sb = new StringBuilder(size + 64);
+		switch (kind)
+		{
+			case NESTED_TEMPLATES:
+			{
+				int depth = size / 10;
+				sb.append(TABLE_START).append("|members1 =\n* Wield ");
+				repeat(sb, "{{plink|", depth);
+				sb.append("x");
+				repeat(sb, "}}", depth);
+				return sb.append(TABLE_END).toString();
+			}
+			case UNCLOSED_TEMPLATES:
+				sb.append(TABLE_START).append("|members1 =\n* Wield ");
+				repeat(sb, "{{a|", size / 4);
+				return sb.append(TABLE_END).toString();
+			case UNCLOSED_LINKS:
+				sb.append(TABLE_START).append("|members1 =\n* Wield ");
+				repeat(sb, "[[a|", size / 4);
+				return sb.append(TABLE_END).toString();
+			case UNCLOSED_PARENTHESES:
+				sb.append(TABLE_START).append("|members1 =\n* Wield a sword ");
+				repeat(sb, "(", size);
+				return sb.append(TABLE_END).toString();
+			case REPEATED_QUEST:
+				sb.append(TABLE_START).append("|members1 =\n* Wield a sword (with ");
+				repeat(sb, "Quest ", size / 6);
+				return sb.append(")").append(TABLE_END).toString();
+			case UNBALANCED_PARAMETERS:
+				sb.append(TABLE_START);
+				for (int level = 1; sb.length() < size; level = level % 99 + 1)
+				{
+					sb.append("|freeplay").append(level).append(" = {{plink|[[a|\n* Wield {{a|b\n");
+				}
+				return sb.append(TABLE_END).toString();
+			case UNCLOSED_TABLES:
+				while (sb.length() < size)
+				{
+					sb.append(TABLE_START).append("|members1 =\n* Wield a sword\n");
+				}
+				return sb.toString();
+			case LARGE_TABLE:
+				sb.append(TABLE_START);
+				for (int level = 1; sb.length() < size; level = level % 99 + 1)
+				{
+					sb.append("|members").append(level).append(" =\n")
+						.append("* Wield {{plink|Rune equipment#Weapons|pic=Rune sword|txt=rune weapons}}")
+						.append(" (with {{SCP|Defence|").append(level).append("}})\n")
+						.append("* Access to the [[Warriors' Guild|guild]]\n");
+				}
+				return sb.append(TABLE_END).toString();
+			default:
+				throw new IllegalArgumentException("Unknown kind " + kind);
+		}
+	}
+	
+	private static void repeat(StringBuilder sb, String text, int count)
+	{
+		for (int i = 0; i < count; i++)
+		{
+			sb.append(text);
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package com.runelite.skillunlocks.service.parser;
+
+import com.runelite.skillunlocks.domain.model.PlayerState;
+import com.runelite.skillunlocks.domain.model.SkillData;
+import com.runelite.skillunlocks.domain.model.SkillUnlock;
+import com.runelite.skillunlocks.domain.model.UnlockRequirement;
+import net.runelite.api.Skill;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class RequirementParserTest
+{
+	@Test
+	public void testRequirementTypes()
+	{
+		List<UnlockRequirement> entries = RequirementParser.parse("Defence 5, 99 Magic, Quest Demon Slayer completed, Barbarian Training completed");
+		
+		assertEquals(4, entries.size());
+		assertEquals(UnlockRequirement.Type.SKILL, entries.get(0).getType());
+		assertEquals(Skill.DEFENCE, entries.get(0).getSkill());
+		assertEquals(5, entries.get(0).getLevel());
+		assertEquals("Defence 5", entries.get(0).getText());
+		
+		assertEquals(Skill.MAGIC, entries.get(1).getSkill());
+		assertEquals(99, entries.get(1).getLevel());
+		
+		assertEquals(UnlockRequirement.Type.QUEST, entries.get(2).getType());
+		assertEquals("Demon Slayer", entries.get(2).getQuest());
+		
+		assertEquals(UnlockRequirement.Type.OTHER, entries.get(3).getType());
+		assertTrue(RequirementParser.parse("").isEmpty());
+	}
+	
+	@Test
+	public void testIsMet()
+	{
+		Map<Skill, Integer> levels = new EnumMap<>(Skill.class);
+		levels.put(Skill.ATTACK, 70);
+		levels.put(Skill.DEFENCE, 4);
+		PlayerState playerState = new PlayerState(levels);
+		
+		// Checked against the named skill, not the skill being viewed
+		assertTrue(RequirementParser.parse("Attack 65 or combined level of 130").get(0).isMet(playerState));
+		assertFalse(RequirementParser.parse("Defence 5").get(0).isMet(playerState));
+		assertFalse(RequirementParser.parse("Quest Demon Slayer completed").get(0).isMet(playerState));
+	}
+	
+	@Test
+	public void testParseMissing()
+	{
+		SkillData data = SkillData.builder().skill(Skill.ATTACK)
+			.unlock(SkillUnlock.builder().level(5).name("Wield steel defenders")
+				.requirements("Defence 5").type(SkillUnlock.UnlockType.ITEM).build())
+			.build();
+		
+		Map<Skill, SkillData> upgraded = RequirementParser.parseMissing(Collections.singletonMap(Skill.ATTACK, data));
+		SkillUnlock unlock = upgraded.get(Skill.ATTACK).getAllUnlocks().get(0);
+		assertEquals(1, unlock.getRequirementEntries().size());
+		assertEquals(Skill.DEFENCE, unlock.getRequirementEntries().get(0).getSkill());
+		
+		// Data that already has entries is passed through
+		assertSame(upgraded.get(Skill.ATTACK), RequirementParser.parseMissing(upgraded).get(Skill.ATTACK));
+	}
+}
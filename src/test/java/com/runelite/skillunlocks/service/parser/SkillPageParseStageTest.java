@@ -0,0 +1,82 @@
+package com.runelite.skillunlocks.service.parser;
+
+import com.runelite.skillunlocks.domain.model.SkillData;
+import net.runelite.api.Skill;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+public class SkillPageParseStageTest
+{
+	private WikiTextParser parser;
+	private SkillPageParseStage parseStage;
+	
+	@Before
+	public void setUp()
+	{
+		parser = new WikiTextParser();
+		parseStage = new SkillPageParseStage(parser, 4);
+	}
+	
+	@After
+	public void tearDown()
+	{
+		parseStage.shutdown();
+	}
+	
+	@Test
+	@SuppressWarnings("deprecation")
+	public void testParallelParseMatchesSequential() throws IOException
+	{
+		String attack = readFixture("Attack");
+		String strength = readFixture("Strength");
+		
+		// Every skill gets one of the captured pages so the pool has more work than workers
+		Map<Skill, String> wikiTexts = new EnumMap<>(Skill.class);
+		for (Skill skill : Skill.values())
+		{
+			if (skill != Skill.OVERALL)
+			{
+				wikiTexts.put(skill, skill.ordinal() % 2 == 0 ? attack : strength);
+			}
+		}
+		
+		Map<Skill, SkillData> parsed = parseStage.parseAll(wikiTexts);
+		
+		assertEquals(wikiTexts.size(), parsed.size());
+		for (Map.Entry<Skill, String> entry : wikiTexts.entrySet())
+		{
+			SkillData data = parsed.get(entry.getKey());
+			assertNotNull(entry.getKey().toString(), data);
+			assertEquals(entry.getKey(), data.getSkill());
+			assertEquals(parser.parseSkillPage(entry.getKey(), entry.getValue()).getAllUnlocks(), data.getAllUnlocks());
+		}
+	}
+	
+	@Test
+	public void testEmptyAndSinglePage() throws IOException
+	{
+		assertEquals(0, parseStage.parseAll(new EnumMap<>(Skill.class)).size());
+		
+		Map<Skill, String> wikiTexts = new EnumMap<>(Skill.class);
+		wikiTexts.put(Skill.ATTACK, readFixture("Attack"));
+		assertEquals(1, parseStage.parseAll(wikiTexts).size());
+	}
+	
+	private String readFixture(String pageName) throws IOException
+	{
+		try (InputStream in = getClass().getResourceAsStream("/fixtures/" + pageName + "/Level_up_table.wiki"))
+		{
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package com.runelite.skillunlocks.service.parser;
+
+import com.runelite.skillunlocks.domain.model.SkillData;
+import com.runelite.skillunlocks.domain.model.SkillUnlock;
+import net.runelite.api.Skill;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class UnlockTypeClassifierTest
+{
+	private UnlockTypeClassifier classifier;
+	
+	@Before
+	public void setUp()
+	{
+		classifier = UnlockTypeClassifier.loadDefault();
+	}
+	
+	@Test
+	public void testBundledRules()
+	{
+		assertEquals(SkillUnlock.UnlockType.SPELL, classifier.classify("Cast the Varrock Teleport", Skill.MAGIC));
+		assertEquals(SkillUnlock.UnlockType.PRAYER, classifier.classify("Protect from Melee prayer", Skill.PRAYER));
+		assertEquals(SkillUnlock.UnlockType.QUEST, classifier.classify("Start the Miniquest", Skill.ATTACK));
+		assertEquals(SkillUnlock.UnlockType.LOCATION, classifier.classify("Access to the Warriors' Guild", Skill.ATTACK));
+		assertEquals(SkillUnlock.UnlockType.ABILITY, classifier.classify("Players can use shortcuts", Skill.AGILITY));
+		assertEquals(SkillUnlock.UnlockType.ACTIVITY, classifier.classify("Take part in the minigame", Skill.FISHING));
+		assertEquals(SkillUnlock.UnlockType.ITEM, classifier.classify("Wield rune weapons", Skill.ATTACK));
+		assertEquals(SkillUnlock.UnlockType.OTHER, classifier.classify("Slightly higher combat level", Skill.ATTACK));
+	}
+	
+	@Test
+	public void testSkillRulesTakePrecedence()
+	{
+		// "teleport" is only a spell keyword for Magic, the quest rule decides elsewhere
+		assertEquals(SkillUnlock.UnlockType.SPELL, classifier.classify("Quest teleport", Skill.MAGIC));
+		assertEquals(SkillUnlock.UnlockType.QUEST, classifier.classify("Quest teleport", Skill.ATTACK));
+		// An earlier rule wins even when its keyword comes later in the text
+		assertEquals(SkillUnlock.UnlockType.QUEST, classifier.classify("Wield the quest reward", Skill.ATTACK));
+		// Keywords overlapping inside one word are all found
+		assertEquals(SkillUnlock.UnlockType.ITEM, classifier.classify("Cutlass", Skill.ATTACK));
+	}
+	
+	@Test
+	public void testCustomRulesAndReclassify()
+	{
+		UnlockTypeClassifier custom = UnlockTypeClassifier.load(new StringReader(
+			"[{\"type\": \"ACTIVITY\", \"skill\": \"ATTACK\", \"keywords\": [\"Guild\"]}]"));
+		assertEquals(SkillUnlock.UnlockType.ACTIVITY, custom.classify("Enter the guild", Skill.ATTACK));
+		assertEquals(SkillUnlock.UnlockType.OTHER, custom.classify("Enter the guild", Skill.STRENGTH));
+		
+		SkillData data = SkillData.builder().skill(Skill.ATTACK)
+			.unlock(SkillUnlock.builder().level(65).name("Enter the guild").type(SkillUnlock.UnlockType.LOCATION).build())
+			.build();
+		SkillData unchanged = SkillData.builder().skill(Skill.STRENGTH)
+			.unlock(SkillUnlock.builder().level(1).name("Lift").type(SkillUnlock.UnlockType.OTHER).build())
+			.build();
+		
+		Map<Skill, SkillData> reclassified = custom.reclassify(Collections.singletonMap(Skill.ATTACK, data));
+		assertEquals(SkillUnlock.UnlockType.ACTIVITY, reclassified.get(Skill.ATTACK).getAllUnlocks().get(0).getType());
+		assertSame(unchanged, custom.reclassify(Collections.singletonMap(Skill.STRENGTH, unchanged)).get(Skill.STRENGTH));
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnknownSkillIsRejected()
+	{
+		// Read as no skill, the misspelled rule would apply to every skill
+		UnlockTypeClassifier.load(new StringReader(
+			"[{\"type\": \"SPELL\", \"skill\": \"MAGIK\", \"keywords\": [\"spell\"]}]"));
+	}
+}
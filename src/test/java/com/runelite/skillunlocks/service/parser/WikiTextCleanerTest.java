@@ -0,0 +1,48 @@
+package com.runelite.skillunlocks.service.parser;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class WikiTextCleanerTest
+{
+	private WikiTextCleaner cleaner;
+	
+	@Before
+	public void setUp()
+	{
+		cleaner = new WikiTextCleaner();
+	}
+	
+	private String clean(String text)
+	{
+		return cleaner.clean(text, 0, text.length()).toString();
+	}
+	
+	@Test
+	public void testTemplatesAndLinks()
+	{
+		assertEquals("Wield rune weapons", clean("Wield {{plink|Rune equipment#Weapons|pic=Rune sword|txt=rune weapons}}"));
+		assertEquals("Wield steel defender (with Defence 5)", clean("Wield {{plink|steel defender}}s (with {{SCP|Defence|5}})"));
+		assertEquals("Enter the guild", clean("Enter the [[Champions' Guild|guild]]{{sic}}"));
+		assertEquals("Quest Demon Slayer", clean("{{SCP|Quest}} [[Demon Slayer]]"));
+	}
+	
+	@Test
+	public void testFormattingAndWhitespace()
+	{
+		assertEquals("Bold and italic text", clean("'''Bold''' and  ''italic''\ttext "));
+		assertEquals("Wield something", clean("Wield something (with"));
+		assertEquals("[[open link and {{a}b}}", clean("[[open link and {{a}b}}"));
+	}
+	
+	@Test
+	public void testBufferIsReusedBetweenLines()
+	{
+		String text = "* Wield {{plink|bronze claws}}\n* Wield {{plink|iron claws}}";
+		int newline = text.indexOf('\n');
+		assertEquals("Wield bronze claws", cleaner.clean(text, 2, newline).toString());
+		assertEquals("Wield iron claws", cleaner.clean(text, newline + 3, text.length()).toString());
+	}
+}
@@ -110,7 +110,7 @@ public class WikiTextParserTest
 		boolean foundMemberUnlock = false;
 		for (SkillUnlock unlock : allUnlocks)
 		{
-			if (unlock.getDescription() != null && unlock.getDescription().contains("Members only"))
+			if (unlock.isMembers())
 			{
 				foundMemberUnlock = true;
 				break;
@@ -184,4 +184,51 @@ public class WikiTextParserTest
 		assertEquals(0, skillData.getUnlocksForLevel(2).size());
 		assertEquals(1, skillData.getUnlocksForLevel(3).size());
 	}
-}
\ No newline at end of file
+	
+	@Test
+	public void testNestedPipesDoNotSplitParameters()
+	{
+		// Template and link arguments that look like parameters stay in their unlock line
+		String wikiText = "{{Level up table\n" +
+			"|freeplay1 =\n" +
+			"* Wield {{plink|Bronze sword|members2=yes|txt=bronze swords}}\n" +
+			"* Enter the [[Champions' Guild|members3 = guild]]\n" +
+			"|members2 =\n" +
+			"* Wield {{plink|steel claws}}\n" +
+			"}}";
+		
+		SkillData skillData = parser.parseSkillPage(Skill.ATTACK, wikiText);
+		
+		List<SkillUnlock> level1Unlocks = skillData.getUnlocksForLevel(1);
+		assertEquals(2, level1Unlocks.size());
+		assertEquals("Wield bronze swords", level1Unlocks.get(0).getName());
+		assertFalse(level1Unlocks.get(0).isMembers());
+		assertEquals(1, skillData.getUnlocksForLevel(2).size());
+		assertEquals(0, skillData.getUnlocksForLevel(3).size());
+	}
+	
+	@Test
+	public void testReparseKeepsUnchangedLevels()
+	{
+		String page = "{{Level up table\n" +
+			"|freeplay1 =\n" +
+			"* Wield bronze swords\n" +
+			"|members1 =\n" +
+			"* Wield bronze claws\n" +
+			"|freeplay5 =\n" +
+			"* Wield steel swords\n" +
+			"|freeplay10 =\n" +
+			"* Wield black swords\n" +
+			"}}";
+		SkillData first = parser.parseSkillPage(Skill.ATTACK, page);
+		
+		SkillData second = parser.parseSkillPage(Skill.ATTACK, page.replace("steel swords", "steel scimitars"), first);
+		
+		assertSame(first.getUnlocksForLevel(1).get(1), second.getUnlocksForLevel(1).get(1));
+		assertSame(first.getUnlocksForLevel(10).get(0), second.getUnlocksForLevel(10).get(0));
+		assertNotSame(first.getUnlocksForLevel(5).get(0), second.getUnlocksForLevel(5).get(0));
+		assertEquals("Wield steel scimitars", second.getUnlocksForLevel(5).get(0).getName());
+		assertEquals(2, second.getUnlocksForLevel(1).size());
+		assertEquals(first.getLevelHashes().get(1), second.getLevelHashes().get(1));
+	}
+}
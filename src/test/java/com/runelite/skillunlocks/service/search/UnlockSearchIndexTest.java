@@ -0,0 +1,181 @@
+package com.runelite.skillunlocks.service.search;
+
+import com.runelite.skillunlocks.domain.model.SkillData;
+import com.runelite.skillunlocks.domain.model.SkillUnlock;
+import com.runelite.skillunlocks.service.parser.WikiTextParser;
+import net.runelite.api.Skill;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class UnlockSearchIndexTest
+{
+	private SkillData attack;
+	private SkillData mining;
+	private UnlockSearchIndex searchIndex;
+	
+	private static SkillUnlock unlock(int level, String name, boolean members, String requirements)
+	{
+		return SkillUnlock.builder().level(level).name(name).members(members).requirements(requirements)
+			.type(SkillUnlock.UnlockType.ITEM).build();
+	}
+	
+	@Before
+	public void setUp()
+	{
+		attack = SkillData.builder()
+			.skill(Skill.ATTACK)
+			.unlock(unlock(1, "Bronze longsword", false, ""))
+			.unlock(unlock(40, "Rune scimitar", false, ""))
+			.unlock(unlock(60, "Dragon longsword", true, "Lost City"))
+			.unlock(unlock(70, "Adamant scimitar", false, ""))
+			.build();
+		mining = SkillData.builder()
+			.skill(Skill.MINING)
+			.unlock(unlock(41, "Rune pickaxe", false, ""))
+			.unlock(unlock(85, "Runite ore", true, ""))
+			.build();
+		
+		Map<Skill, SkillData> skillData = new EnumMap<>(Skill.class);
+		skillData.put(Skill.MINING, mining);
+		skillData.put(Skill.ATTACK, attack);
+		searchIndex = UnlockSearchIndex.build(skillData);
+	}
+	
+	private static BitSet bits(int... indexes)
+	{
+		BitSet bits = new BitSet();
+		for (int index : indexes)
+		{
+			bits.set(index);
+		}
+		return bits;
+	}
+	
+	@Test
+	public void testSingleSkillSearch()
+	{
+		assertEquals(bits(0, 2), searchIndex.search(attack, "longsword"));
+		// Terms match anywhere within a word
+		assertEquals(bits(0, 2), searchIndex.search(attack, "SWORD"));
+		assertEquals(bits(1), searchIndex.search(attack, "rune"));
+		assertEquals(bits(0), searchIndex.search(mining, "rune"));
+		assertEquals(bits(0, 1), searchIndex.search(mining, "run"));
+		// Every term has to match, in any order
+		assertEquals(bits(2), searchIndex.search(attack, "longsword dragon"));
+		assertEquals(bits(2), searchIndex.search(attack, "members city"));
+		assertTrue(searchIndex.search(attack, "rune dragon").isEmpty());
+		assertTrue(searchIndex.search(attack, "pickaxe").isEmpty());
+		assertEquals(bits(0, 1, 2, 3), searchIndex.search(attack, " - "));
+	}
+	
+	@Test
+	public void testAllSkillSearch()
+	{
+		BitSet matches = searchIndex.search("run");
+		assertEquals(3, matches.cardinality());
+		for (int id = matches.nextSetBit(0); id >= 0; id = matches.nextSetBit(id + 1))
+		{
+			assertTrue(searchIndex.getUnlock(id).getName().toLowerCase().contains("run"));
+		}
+		assertEquals(Skill.ATTACK, searchIndex.getSkill(matches.nextSetBit(0)));
+		assertEquals(Skill.MINING, searchIndex.getSkill(matches.previousSetBit(searchIndex.size())));
+		assertEquals(6, searchIndex.size());
+	}
+	
+	@Test
+	public void testFuzzySearch()
+	{
+		assertTrue(searchIndex.search(attack, "scimtar").isEmpty());
+		// Equal matches come nearest the player's level first
+		assertArrayEquals(new int[] { 1, 3 }, searchIndex.searchRanked(attack, "scimtar", 40));
+		assertArrayEquals(new int[] { 3, 1 }, searchIndex.searchRanked(attack, "scimtar", 70));
+		assertArrayEquals(new int[] { 3 }, searchIndex.searchRanked(attack, "addy", 1));
+		assertArrayEquals(new int[] { 3 }, searchIndex.searchRanked(attack, "adamnat scimitar", 1));
+		assertArrayEquals(new int[] { 0, 2 }, searchIndex.searchRanked(attack, "long", 1));
+		assertArrayEquals(new int[] { 2, 0 }, searchIndex.searchRanked(attack, "long", 60));
+		assertEquals(0, searchIndex.searchRanked(attack, "pickaxe", 1).length);
+		assertEquals(0, searchIndex.searchRanked(attack, "xq", 1).length);
+		assertEquals(0, searchIndex.searchRanked(attack, " ", 1).length);
+	}
+	
+	@Test
+	public void testRankedSearchPrefersCloserSpellings()
+	{
+		// Closer spellings come before closer levels
+		assertArrayEquals(new int[] { 0, 1 }, searchIndex.searchRanked(mining, "rune", 85));
+		assertArrayEquals(new int[] { 1, 0 }, searchIndex.searchRanked(mining, "runte", 41));
+	}
+	
+	@Test
+	public void testDataNotInIndex()
+	{
+		SkillData edited = SkillData.builder()
+			.skill(Skill.ATTACK)
+			.unlock(unlock(50, "Granite longsword", true, ""))
+			.build();
+		assertEquals(bits(0), searchIndex.search(edited, "granite"));
+		assertTrue(UnlockSearchIndex.EMPTY.search("rune").isEmpty());
+	}
+	
+	@Test
+	public void testWithSkillDataReplacesOnlyThatSkill()
+	{
+		SkillData edited = SkillData.builder()
+			.skill(Skill.ATTACK)
+			.unlock(unlock(50, "Granite longsword", true, ""))
+			.build();
+		UnlockSearchIndex updated = searchIndex.withSkillData(Collections.singletonMap(Skill.ATTACK, edited));
+		
+		assertEquals(3, updated.size());
+		assertEquals(bits(0), updated.search(edited, "granite"));
+		assertEquals(bits(1, 2), updated.search("run"));
+		assertEquals(Skill.MINING, updated.getSkill(2));
+		assertEquals(bits(0, 2), searchIndex.search(attack, "longsword"));
+	}
+	
+	@Test
+	public void testMatchesTextScanOnFixtures() throws IOException
+	{
+		WikiTextParser parser = new WikiTextParser();
+		SkillData data = parser.parseSkillPage(Skill.ATTACK, readFixture("Attack"));
+		UnlockSearchIndex fixtureIndex = UnlockSearchIndex.build(Collections.singletonMap(Skill.ATTACK, data));
+		List<SkillUnlock> unlocks = data.getAllUnlocks();
+		
+		// A single word is found exactly where the text contains it
+		for (String term : new String[]{"rune", "sword", "a", "dragon", "quest", "members", "xyz"})
+		{
+			BitSet expected = new BitSet();
+			for (int i = 0; i < unlocks.size(); i++)
+			{
+				SkillUnlock unlock = unlocks.get(i);
+				String text = (unlock.getName() + " " + unlock.getDescription() + " " + unlock.getRequirements()).toLowerCase();
+				if (text.contains(term))
+				{
+					expected.set(i);
+				}
+			}
+			assertEquals(term, expected, fixtureIndex.search(data, term));
+		}
+	}
+	
+	private String readFixture(String pageName) throws IOException
+	{
+		try (InputStream in = getClass().getResourceAsStream("/fixtures/" + pageName + "/Level_up_table.wiki"))
+		{
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package com.runelite.skillunlocks.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class StringPoolTest
+{
+	@Test
+	public void testInternReturnsSharedInstance()
+	{
+		StringPool pool = new StringPool();
+		String first = pool.intern(new String("Quest"));
+		
+		assertSame(first, pool.intern(new String("Quest")));
+		assertSame(first, pool.intern(new StringBuilder("Completed Quest points"), 10, 15));
+		assertEquals("", pool.intern("abc", 1, 1));
+		assertEquals(1, pool.size());
+	}
+	
+	@Test
+	public void testGrowsPastInitialCapacity()
+	{
+		StringPool pool = new StringPool();
+		String[] values = new String[2000];
+		for (int i = 0; i < values.length; i++)
+		{
+			values[i] = pool.intern("value " + i);
+		}
+		
+		for (int i = 0; i < values.length; i++)
+		{
+			assertSame(values[i], pool.intern("value " + i));
+		}
+		assertEquals(values.length, pool.size());
+	}
+	
+	@Test
+	public void testClearKeepsHandedOutStrings()
+	{
+		StringPool pool = new StringPool();
+		String first = pool.intern(new String("Quest"));
+		pool.clear();
+		
+		assertEquals(0, pool.size());
+		String second = pool.intern(new String("Quest"));
+		assertEquals(first, second);
+		assertSame(second, pool.intern("Quest"));
+	}
+	
+	@Test
+	public void testConcurrentInternSharesInstances() throws Exception
+	{
+		StringPool pool = new StringPool();
+		String[][] results = new String[4][1000];
+		Thread[] threads = new Thread[results.length];
+		for (int t = 0; t < threads.length; t++)
+		{
+			String[] result = results[t];
+			threads[t] = new Thread(() -> {
+				for (int i = 0; i < result.length; i++)
+				{
+					result[i] = pool.intern(new String("value " + i));
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads)
+		{
+			thread.join();
+		}
+		
+		for (int i = 0; i < results[0].length; i++)
+		{
+			for (String[] result : results)
+			{
+				assertSame(results[0][i], result[i]);
+			}
+		}
+		assertEquals(results[0].length, pool.size());
+	}
+}